@@ -3,10 +3,14 @@ package com.kovalenko.lab1.controller;
 import com.kovalenko.lab1.model.*;
 import org.apache.log4j.Logger;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
 import java.io.*;
+import java.lang.management.ManagementFactory;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
 /**
@@ -44,16 +48,16 @@ public enum Controller {
     private static final String DEFAULT_STORAGE_FILE_NAME = "out/myTasks.txt";
     private static Logger log = Logger.getLogger(Controller.class.getName());
     private String inputChoice;
-    private volatile ArrayTaskList taskList;
-    private volatile Boolean listMutated;
+    private volatile PersistentTaskList taskList;
     private NotificationsManager notifier;
+    private final NotificationsStats notificationsStats = new NotificationsStats();
     private String[] menuItems;
     private String[] collectionItemsAsMenu;
     private BufferedReader bufferedReader;
     Controller() {
-        listMutated = false;
-        notifier = new NotificationsManager();
-        taskList = new ArrayTaskList();
+        registerNotificationsStats();
+        notifier = new NotificationsManager(notificationsStats);
+        taskList = new PersistentTaskList();
         bufferedReader = new BufferedReader(new InputStreamReader(System.in));
     }
 
@@ -65,13 +69,17 @@ public enum Controller {
         return taskList;
     }
 
-    public boolean getListMutated() {
-        return listMutated;
-    }
-
-    public void setListMutated(boolean value) {
-        synchronized (this) {
-            listMutated = value;
+    /**
+     * Method to register statistics of notifications in platform MBean server,
+     * so they can be monitored through JMX.
+     *
+     * @see NotificationsStats
+     */
+    private void registerNotificationsStats() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(notificationsStats, new ObjectName(NotificationsStats.OBJECT_NAME));
+        } catch (JMException ex) {
+            log.error("Statistics of notifications can't be registered in MBean server.", ex);
         }
     }
 
@@ -148,7 +156,7 @@ public enum Controller {
             inputChoice = getTrimmedInput();
             switch (inputChoice) {
                 case "1":
-                    taskList = new ArrayTaskList();
+                    taskList = new PersistentTaskList();
                     System.out.println("New empty list was created.");
                     log.info("User created new empty list of tasks.");
                     break;
@@ -184,12 +192,12 @@ public enum Controller {
      */
     private void loadFromFile(String path) {
         File readFromFile = new File(path);
-        taskList = new ArrayTaskList();
+        taskList = new PersistentTaskList();
         try {
             TaskIO.readText(taskList, readFromFile);
             System.out.println("File was loaded successfully! ");
         } catch (IOException | ParseException | StringIndexOutOfBoundsException | IllegalArgumentException ex) {
-            taskList = new ArrayTaskList();
+            taskList = new PersistentTaskList();
             try {
                 File defaultStorage = new File(DEFAULT_STORAGE_FILE_NAME);
                 defaultStorage.createNewFile();
@@ -331,11 +339,11 @@ public enum Controller {
      * @see TaskList
      */
     private String[] menuItemsOutOfCollection(TaskList tasks) {
-        String[] collectionItemsAsMenu = new String[tasks.size()];
-        for (int i = 0; i < collectionItemsAsMenu.length; i++) {
-            collectionItemsAsMenu[i] = tasks.getTask(i).toString();
+        List<String> collectionItemsAsMenu = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            collectionItemsAsMenu.add(task.toString());
         }
-        return collectionItemsAsMenu;
+        return collectionItemsAsMenu.toArray(new String[0]);
     }
 
     /**
@@ -402,7 +410,6 @@ public enum Controller {
                 case "y":
                     synchronized (this) {
                         removeByIndexesConfirmed(indexes);
-                        setListMutated(true);
                     }
                     System.out.println(" --- Tasks were deleted successfully! --- ");
                     log.info("User successfully deleted tasks from list.");
@@ -425,8 +432,15 @@ public enum Controller {
      * @param indexes indexes, by which tasks will be permanently deleted from collection
      */
     private void removeByIndexesConfirmed(Integer[] indexes) {
-        for (int i = 0, offset = 0; i < indexes.length; i++, offset++) {
-            taskList.remove(indexes[i] - 1 - offset);
+        int[] removalIndexes = new int[indexes.length];
+        Task[] removedTasks = new Task[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            removalIndexes[i] = indexes[i] - 1;
+            removedTasks[i] = taskList.getTask(removalIndexes[i]);
+        }
+        taskList.removeIndices(removalIndexes);
+        for (Task removedTask : removedTasks) {
+            notifier.publish(TaskEvent.removed(removedTask));
         }
     }
 
@@ -529,7 +543,8 @@ public enum Controller {
 
     /**
      * Method to render calendar to console.
-     * Calendar is formed using {@link Tasks#calendar(Iterable, Date, Date)} method
+     * Repeated tasks are displayed only at the first date they appear at for the period,
+     * so only the first occurrence of each active task is taken from it's occurrences stream.
      *
      * @param from date to search for scheduled tasks from
      * @param to   date to search for scheduled tasks to
@@ -539,54 +554,23 @@ public enum Controller {
         System.out.println("Tasks, contained between start: "
                                + from.toString() + " and end: "
                                + to.toString() + " dates are shown below.\n");
-        SortedMap<Date, Set<Task>> calendar = Tasks.calendar(taskList, from, to);
-        if (calendar.size() == 0) {
-            System.out.println("No tasks for selected period.\n");
-        } else {
-            removeDuplicatedRepeatedTasks(calendar);
-            calendar.forEach((K, V) -> {
-                System.out.println(" --- " + K + " --- ");
-                for (Task task : V) {
-                    System.out.println(task);
-                }
-                System.out.println(" ------------------------------------\n");
-            });
+        SortedMap<Date, Set<Task>> calendar = new TreeMap<>();
+        for (Task task : taskList) {
+            if (task.isActive()) {
+                task.occurrenceStream(from.getTime(), to.getTime()).findFirst().ifPresent(time ->
+                        calendar.computeIfAbsent(new Date(time), k -> new HashSet<>()).add(task));
+            }
         }
-    }
-
-    /**
-     * Method to remove repeated task from calendar,
-     * if they appear several times for the period.
-     *
-     * @param calendar calendar to remove duplicated repeated task for the
-     */
-    private void removeDuplicatedRepeatedTasks(SortedMap<Date, Set<Task>> calendar) {
-        Iterator<Map.Entry<Date, Set<Task>>> iter = calendar.entrySet().iterator();
-        Map.Entry<Date, Set<Task>> entry = iter.next();
-        Set<Task> uniqueRepeatedTasks = new HashSet<>(entry.getValue());
-        calendar.put(entry.getKey(), new HashSet<>(uniqueRepeatedTasks));
-
-        Set<Task> currentSet;
-        Task currentTask;
-        for (entry = iter.next(); iter.hasNext(); entry = iter.next()) {
-            currentSet = entry.getValue();
-            for (Iterator<Task> taskIterator = currentSet.iterator(); taskIterator.hasNext(); ) {
-                currentTask = taskIterator.next();
-                if (currentTask.isRepeated()) {
-                    boolean foundDuplicate = false;
-                    for (Task unique : uniqueRepeatedTasks) {
-                        if (currentTask.equals(unique)) {
-                            taskIterator.remove();
-                            foundDuplicate = true;
-                        }
-                    }
-                    if (!foundDuplicate) {
-                        uniqueRepeatedTasks.add(currentTask);
-                    }
-                }
+        for (Map.Entry<Date, Set<Task>> entry : calendar.entrySet()) {
+            System.out.println(" --- " + entry.getKey() + " --- ");
+            for (Task task : entry.getValue()) {
+                System.out.println(task);
             }
+            System.out.println(" ------------------------------------\n");
+        }
+        if (calendar.isEmpty()) {
+            System.out.println("No tasks for selected period.\n");
         }
-        calendar.entrySet().removeIf(e -> e.getValue().size() == 0);
     }
 
     /**
@@ -634,6 +618,7 @@ public enum Controller {
             taskToAdd.setActive(taskIsActive);
             taskList.add(taskToAdd);
         }
+        notifier.publish(TaskEvent.added(taskToAdd));
         System.out.println("Your task was successfully added!");
         log.info("New task was added to list successfully.");
     }
@@ -790,17 +775,11 @@ public enum Controller {
             switch (inputChoice) {
                 case "1": //Edit the title
                     String newTitle = getTitleOrStepOutTo(Menus.EDIT_TASK_BY_INDEX, "new", index);
-                    synchronized (this) {
-                        editedTask.setTitle(newTitle);
-                        setListMutated(true);
-                    }
+                    editedTask = editTask(editedTask, index, task -> task.setTitle(newTitle));
                     log.info("Task title was edited successfully.");
                     break;
                 case "2": //Edit time
-                    synchronized (this) {
-                        editStartAndEndTimes(editedTask, index);
-                        setListMutated(true);
-                    }
+                    editedTask = editStartAndEndTimes(editedTask, index, editedTask.getRepeatInterval());
                     log.info("Task times was edited successfully.");
                     break;
                 case "3": //Change repeat interval
@@ -812,26 +791,18 @@ public enum Controller {
                             System.out.println("\n! Repeat interval [" + newRepeatInterval/60 + "] should be more than 0, please retry your input.");
                         }
                     } while (newRepeatInterval <= 0);
-                    synchronized (this) {
-                        editedTask.setRepeatInterval(newRepeatInterval);
-                        setListMutated(true);
-                    }
+                    int repeatInterval = newRepeatInterval;
+                    editedTask = editTask(editedTask, index, task -> task.setRepeatInterval(repeatInterval));
                     log.info("Task repeat interval was edited successfully.");
                     System.out.println("Repeat interval was edited successfully!");
                     break;
                 case "4": //Change active state
-                    synchronized (this) {
-                        editChangeActiveState(editedTask);
-                        setListMutated(true);
-                    }
+                    editedTask = editTask(editedTask, index, this::editChangeActiveState);
                     log.info("Task state was edited successfully.");
                     break;
                 case "5": //Make task non repeatable
                     Date newNonRepeatableDate = getDateOrStepOutTo(Menus.EDIT_TASK_BY_INDEX, "new date", index);
-                    synchronized (this) {
-                        editedTask.setTime(newNonRepeatableDate, editedTask.isActive());
-                        setListMutated(true);
-                    }
+                    editedTask = editTask(editedTask, index, task -> task.setTime(newNonRepeatableDate, task.isActive()));
                     log.info("Repeated task was switched to non repeatable.");
                     System.out.println("Task was edited successfully!");
                     break;
@@ -869,11 +840,13 @@ public enum Controller {
     /**
      * Method to edit start and end time while editing repeated task.
      *
-     * @param editedTask the actual task that will be edited
-     * @param index      index of the task that will be edited,
-     *                   used also while stepping out from this method to previous menu {@link #editTaskByIndex(int)}
+     * @param editedTask     the actual task that will be edited
+     * @param index          index of the task that will be edited,
+     *                       used also while stepping out from this method to previous menu {@link #editTaskByIndex(int)}
+     * @param repeatInterval repeat interval of the edited task
+     * @return edited copy of the task, which replaced it in collection
      */
-    private void editStartAndEndTimes(Task editedTask, int index) {
+    private Task editStartAndEndTimes(Task editedTask, int index, int repeatInterval) {
         Date newTaskStart;
         Date newTaskEnd;
         do {
@@ -884,14 +857,37 @@ public enum Controller {
                 System.out.println("\n! END date [" + newTaskEnd + "] should be after START date [" + newTaskStart + "], please retry your input.");
             }
         } while (newTaskStart.after(newTaskEnd));
+        Date start = newTaskStart;
+        Date end = newTaskEnd;
+        Task edited = editTask(editedTask, index, task -> {
+            boolean isActive = task.isActive();
+            task.setRepeated(true);
+            task.setTime(start, end, repeatInterval);
+            task.setActive(isActive);
+        });
+        System.out.println("Times were edited successfully!");
+        return edited;
+    }
+
+    /**
+     * Method to edit the task consistently: {@code edit} is applied to the copy of the task,
+     * then the copy replaces the task in collection, and the edit is published with the copy.
+     * Task in collection itself is never changed, so readers of collection never see partially edited task.
+     *
+     * @param editedTask the actual task that will be edited
+     * @param index      index of the task in collection
+     * @param edit       changes to apply to the copy of the task
+     * @return edited copy of the task, which replaced it in collection
+     * @see TaskEvent
+     */
+    private Task editTask(Task editedTask, int index, Consumer<Task> edit) {
+        Task edited = TaskEvent.snapshotOf(editedTask);
+        edit.accept(edited);
         synchronized (this) {
-            boolean isActive = editedTask.isActive();
-            editedTask.setRepeated(true);
-            editedTask.setTime(newTaskStart, newTaskEnd, editedTask.getRepeatInterval());
-            editedTask.setActive(isActive);
-            setListMutated(true);
+            taskList.set(index, edited);
+            notifier.publish(TaskEvent.edited(edited, editedTask));
         }
-        System.out.println("Times were edited successfully!");
+        return edited;
     }
 
     /**
@@ -908,28 +904,21 @@ public enum Controller {
             switch (inputChoice) {
                 case "1": //Edit the title
                     String newTitle = getTitleOrStepOutTo(Menus.EDIT_TASK_BY_INDEX, "new", index);
-                    synchronized (this) {
-                        editedTask.setTitle(newTitle);
-                        setListMutated(true);
-                    }
+                    editedTask = editTask(editedTask, index, task -> task.setTitle(newTitle));
                     log.info("Task title was edited successfully.");
                     break;
                 case "2": //Edit time
                     Date newDate = getDateOrStepOutTo(Menus.EDIT_TASK_BY_INDEX, "new", index);
-                    synchronized (this) {
-                        boolean isActive = editedTask.isActive();
-                        editedTask.setTime(newDate);
-                        editedTask.setActive(isActive);
-                        setListMutated(true);
-                    }
+                    editedTask = editTask(editedTask, index, task -> {
+                        boolean isActive = task.isActive();
+                        task.setTime(newDate);
+                        task.setActive(isActive);
+                    });
                     log.info("Task time was edited successfully.");
                     System.out.println("Scheduled time was edited successfully!");
                     break;
                 case "3": //Change active state
-                    synchronized (this) {
-                        editChangeActiveState(editedTask);
-                        setListMutated(true);
-                    }
+                    editedTask = editTask(editedTask, index, this::editChangeActiveState);
                     log.info("Task state was edited successfully.");
                     break;
                 case "4": //Make task repeatable
@@ -941,11 +930,7 @@ public enum Controller {
                             System.out.println("\n! Repeat interval [" + newRepeatInterval/60 + "] should be more than 0, please retry your input.");
                         }
                     } while (newRepeatInterval <= 0);
-                    synchronized (this) {
-                        editedTask.setRepeatInterval(newRepeatInterval);
-                        editStartAndEndTimes(editedTask, index);
-                        setListMutated(true);
-                    }
+                    editedTask = editStartAndEndTimes(editedTask, index, newRepeatInterval);
                     log.info("Non repeatable task was changed to repeatable.");
                     break;
                 default:
@@ -995,11 +980,12 @@ public enum Controller {
     /**
      * Method to route user from one menu to another.
      * <p>
-     * There are 3 types of predefined statements that can be inputted in most menus:
+     * There are 4 types of predefined statements that can be inputted in most menus:
      * <p>
      * 1. 'menu'        - displays current menu.
      * 2. 'prev'/'back' - routes user to the previous menu.
      * 3. 'exit'/quit'  - exits the application using {@link #exit()} method.
+     * 4. 'stats'       - displays statistics of notifications using {@link #stats()} method.
      *
      * @param controlWord  one of predefined statements.
      * @param currentMenu  current menu, user is working in.
@@ -1062,6 +1048,7 @@ public enum Controller {
                     case TASKLIST_MAIN:
                         showChooseTaskListMenu();
                         chooseTaskList();
+                        pokeNotificationsManager(true);
                         return true;
 
                     case EDIT_TASK_LIST:
@@ -1089,6 +1076,9 @@ public enum Controller {
 
                 }
                 break;
+            case "stats":
+                stats();
+                return true;
             case "exit":
             case "quit":
                 exit();
@@ -1113,7 +1103,7 @@ public enum Controller {
             log.info("Notifications manager thread was interrupted.", ex);
         } finally {
             if (state) {
-                notifier = new NotificationsManager();
+                notifier = new NotificationsManager(notificationsStats);
                 notifier.setParentController(this);
                 notifier.setPriority(Thread.MAX_PRIORITY);
                 notifier.start();
@@ -1152,12 +1142,39 @@ public enum Controller {
                               "%-15s" + "%-55s%n" +
                               "%-15s" + "%-55s%n" +
                               "%-15s" + "%-55s%n" +
+                              "%-15s" + "%-55s%n" +
                               "%s",
             "--- You can use several keywords during your work ---",
             "Keyword", "Action",
             "quit/exit", "Exiting the application, saving your current work.",
             "back/prev", "Returning to the previous menu.",
             "menu", "Printing current menu one more time.",
+            "stats", "Printing statistics of notifications.",
             "-----------------------------------------------------\n");
     }
-}
\ No newline at end of file
+
+    /**
+     * Statistics menu, description of latency and throughput of notifications.
+     *
+     * @see NotificationsStats
+     */
+    private void stats() {
+        String rowFormat = "%-35s%s%n";
+        System.out.printf("%n%s%n", "------ Statistics of notifications ------");
+        System.out.printf(rowFormat, "Fired notifications", notificationsStats.getFiredCount());
+        System.out.printf(rowFormat, "Missed notifications", notificationsStats.getMissedCount());
+        System.out.printf(rowFormat, "Caught up notifications", notificationsStats.getCaughtUpCount());
+        System.out.printf(rowFormat, "Dropped notifications", notificationsStats.getDroppedCount());
+        System.out.printf(rowFormat, "Delivered notifications", notificationsStats.getDeliveredCount());
+        System.out.printf(rowFormat, "Mean latency, ms", String.format("%.2f", notificationsStats.getMeanLatencyMillis()));
+        System.out.printf(rowFormat, "Latency p50/p99/max, ms", notificationsStats.getLatencyP50Millis() + " / "
+                                                                  + notificationsStats.getLatencyP99Millis() + " / "
+                                                                  + notificationsStats.getMaxLatencyMillis());
+        System.out.printf(rowFormat, "Scheduling steps", notificationsStats.getStepCount());
+        System.out.printf(rowFormat, "Step duration mean/max, us", String.format("%.1f", notificationsStats.getMeanStepMicros()) + " / "
+                                                                     + notificationsStats.getMaxStepMicros());
+        System.out.printf(rowFormat, "Last scan of tasks, us", notificationsStats.getLastScanMicros()
+                                                                 + " (" + notificationsStats.getLastScanSize() + " tasks)");
+        System.out.println("-----------------------------------------");
+    }
+}
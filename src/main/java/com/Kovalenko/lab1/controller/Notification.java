@@ -0,0 +1,49 @@
+package com.kovalenko.lab1.controller;
+
+import com.kovalenko.lab1.model.Task;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Notification about tasks, which notification time has come at once,
+ * passed from {@link NotificationsManager} to {@link NotificationSink}s through {@link NotificationsDelivery}.
+ *
+ * @author Anton Kovalenko
+ * @version 1.0
+ * @see NotificationsDelivery
+ */
+public class Notification {
+
+    private final long time;
+    private final Set<Task> tasks;
+
+    /**
+     * Constructor, creates Notification about {@code tasks}
+     *
+     * @param time  scheduled notification time in milliseconds
+     * @param tasks tasks to notify of
+     */
+    public Notification(long time, Set<Task> tasks) {
+        this.time = time;
+        this.tasks = Collections.unmodifiableSet(tasks);
+    }
+
+    /**
+     * Gets scheduled time of notification
+     *
+     * @return scheduled notification time in milliseconds
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Gets tasks to notify of
+     *
+     * @return unmodifiable set of tasks
+     */
+    public Set<Task> getTasks() {
+        return tasks;
+    }
+}
@@ -0,0 +1,35 @@
+package com.kovalenko.lab1.controller;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of notifications, e.g. console, file or socket.
+ * Sinks are called from delivery workers of {@link NotificationsDelivery},
+ * so slow sinks do not delay scheduling of notifications.
+ *
+ * @author Anton Kovalenko
+ * @version 1.0
+ * @see WriterSink
+ */
+public interface NotificationSink extends Closeable {
+
+    /**
+     * Method to deliver batch of notifications
+     *
+     * @param notifications notifications in order they were fired
+     * @throws IOException when there was exception during delivery
+     */
+    void deliver(List<Notification> notifications) throws IOException;
+
+    /**
+     * Method to release the sink, while delivery may be blocked in it, e.g. by stalled connection,
+     * so blocked delivery fails instead of waiting. By default the sink is closed.
+     *
+     * @throws IOException when there was exception during releasing
+     */
+    default void abort() throws IOException {
+        close();
+    }
+}
@@ -0,0 +1,304 @@
+package com.kovalenko.lab1.controller;
+
+import org.apache.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous delivery pipeline of notifications.
+ * <p>
+ * {@link NotificationsManager} hands fired notifications to bounded queue by {@link #submit(Notification)},
+ * delivery workers drain the queue in batches and pass batches to every {@link NotificationSink}.
+ * When the queue is full, {@link OverflowPolicy} decides, whether to wait for free space
+ * or to drop a notification. The default policy drops the oldest notification, so stalled sinks do not delay scheduling,
+ * waiting for free space has to be chosen explicitly.
+ * Shutdown waits for stalled sinks for a limited time only.
+ *
+ * @author Anton Kovalenko
+ * @version 1.0
+ * @see NotificationSink
+ */
+public class NotificationsDelivery {
+
+    /**
+     * Policy of handling notifications, submitted while the queue is full
+     */
+    public enum OverflowPolicy {
+        /**
+         * Scheduler waits until there is free space in the queue, so nothing is dropped.
+         * Notifications are submitted by the scheduling thread, so with this policy a stalled sink stops scheduling
+         * and applying of change events, latency of scheduling is not kept flat
+         */
+        BLOCK,
+        /**
+         * Submitted notification is dropped
+         */
+        DROP_NEWEST,
+        /**
+         * The oldest notification in the queue is dropped to free space for submitted one, default policy
+         */
+        DROP_OLDEST
+    }
+
+    /**
+     * System property with comma separated list of sinks: "console", "file:path/to/file", "socket:host:port"
+     */
+    public static final String SINKS_PROPERTY = "lab1.notifications.sinks";
+    /**
+     * System property with name of {@link OverflowPolicy}
+     */
+    public static final String OVERFLOW_PROPERTY = "lab1.notifications.overflow";
+    /**
+     * System property with capacity of the queue
+     */
+    public static final String CAPACITY_PROPERTY = "lab1.notifications.capacity";
+    /**
+     * System property with number of delivery workers
+     */
+    public static final String WORKERS_PROPERTY = "lab1.notifications.workers";
+
+    public static final int DEFAULT_CAPACITY = 1024;
+    public static final int MAX_BATCH_SIZE = 64;
+    /**
+     * Time to wait for delivery workers to stop on shutdown, and then once more after sinks are aborted
+     */
+    public static final long SHUTDOWN_TIMEOUT = 2000;
+
+    private static Logger log = Logger.getLogger(NotificationsDelivery.class.getName());
+    private final BlockingQueue<Notification> queue;
+    private final List<NotificationSink> sinks;
+    private final OverflowPolicy overflowPolicy;
+    private final Thread[] workers;
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final NotificationsStats stats;
+
+    /**
+     * Constructor, creates delivery pipeline, workers are not started
+     *
+     * @param sinks          sinks to deliver notifications to
+     * @param capacity       capacity of the queue
+     * @param workersCount   number of delivery workers
+     * @param overflowPolicy policy of handling notifications, submitted while the queue is full
+     */
+    public NotificationsDelivery(List<NotificationSink> sinks, int capacity, int workersCount, OverflowPolicy overflowPolicy) {
+        this(sinks, capacity, workersCount, overflowPolicy, new NotificationsStats());
+    }
+
+    /**
+     * Constructor, creates delivery pipeline, which records latency of delivery and dropped notifications
+     * into {@code stats}, workers are not started
+     *
+     * @param sinks          sinks to deliver notifications to
+     * @param capacity       capacity of the queue
+     * @param workersCount   number of delivery workers
+     * @param overflowPolicy policy of handling notifications, submitted while the queue is full
+     * @param stats          statistics to record delivery into
+     */
+    public NotificationsDelivery(List<NotificationSink> sinks, int capacity, int workersCount, OverflowPolicy overflowPolicy,
+                                 NotificationsStats stats) {
+        if (capacity <= 0 || workersCount <= 0) {
+            throw new IllegalArgumentException("Capacity of the queue and number of workers should be more than zero");
+        }
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.sinks = new ArrayList<>(sinks);
+        this.overflowPolicy = overflowPolicy;
+        this.stats = stats;
+        this.workers = new Thread[workersCount];
+        for (int i = 0; i < workersCount; i++) {
+            workers[i] = new Thread(this::deliverLoop, "notifications-delivery-" + i);
+            workers[i].setDaemon(true);
+        }
+    }
+
+    /**
+     * Creates delivery pipeline, configured by {@link #SINKS_PROPERTY}, {@link #OVERFLOW_PROPERTY},
+     * {@link #CAPACITY_PROPERTY} and {@link #WORKERS_PROPERTY} system properties.
+     * By default notifications are printed to console by one worker, the oldest notification is dropped on overflow,
+     * so scheduler never waits for sinks, unless {@link OverflowPolicy#BLOCK} is chosen.
+     * Sinks, which can't be opened, are skipped.
+     *
+     * @return configured delivery pipeline, workers are not started
+     */
+    public static NotificationsDelivery fromSystemProperties() {
+        return fromSystemProperties(new NotificationsStats());
+    }
+
+    /**
+     * Creates delivery pipeline, configured by system properties, which records delivery into {@code stats}
+     *
+     * @param stats statistics to record delivery into
+     * @return configured delivery pipeline, workers are not started
+     * @see #fromSystemProperties()
+     */
+    public static NotificationsDelivery fromSystemProperties(NotificationsStats stats) {
+        List<NotificationSink> sinks = new ArrayList<>();
+        for (String sink : System.getProperty(SINKS_PROPERTY, "console").split(",")) {
+            sink = sink.trim();
+            try {
+                if (sink.equals("console")) {
+                    sinks.add(WriterSink.console());
+                } else if (sink.startsWith("file:")) {
+                    sinks.add(WriterSink.file(new File(sink.substring("file:".length()))));
+                } else if (sink.startsWith("socket:")) {
+                    int lastColon = sink.lastIndexOf(':');
+                    sinks.add(WriterSink.socket(sink.substring("socket:".length(), lastColon),
+                        Integer.parseInt(sink.substring(lastColon + 1))));
+                } else {
+                    log.warn("Unknown notifications sink was skipped [" + sink + "]");
+                }
+            } catch (IOException | RuntimeException ex) {
+                log.error("Notifications sink can't be opened [" + sink + "]", ex);
+            }
+        }
+        OverflowPolicy overflowPolicy = OverflowPolicy.valueOf(System.getProperty(OVERFLOW_PROPERTY, OverflowPolicy.DROP_OLDEST.name()));
+        int capacity = Integer.getInteger(CAPACITY_PROPERTY, DEFAULT_CAPACITY);
+        int workersCount = Integer.getInteger(WORKERS_PROPERTY, 1);
+        return new NotificationsDelivery(sinks, capacity, workersCount, overflowPolicy, stats);
+    }
+
+    /**
+     * Method to start delivery workers
+     */
+    public void start() {
+        for (Thread worker : workers) {
+            worker.start();
+        }
+    }
+
+    /**
+     * Method to hand notification over to delivery workers, according to overflow policy
+     *
+     * @param notification notification to deliver
+     * @throws InterruptedException if thread was interrupted while waiting for free space with BLOCK policy
+     */
+    public void submit(Notification notification) throws InterruptedException {
+        switch (overflowPolicy) {
+            case BLOCK:
+                queue.put(notification);
+                break;
+            case DROP_NEWEST:
+                if (!queue.offer(notification)) {
+                    droppedCount.incrementAndGet();
+                    stats.recordDropped();
+                }
+                break;
+            case DROP_OLDEST:
+                while (!queue.offer(notification)) {
+                    if (queue.poll() != null) {
+                        droppedCount.incrementAndGet();
+                        stats.recordDropped();
+                    }
+                }
+                break;
+        }
+    }
+
+    /**
+     * Gets number of notifications, dropped because the queue was full
+     *
+     * @return number of dropped notifications
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private void deliverLoop() {
+        List<Notification> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(queue.take());
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                deliver(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException ignored) {
+        }
+    }
+
+    private void deliver(List<Notification> batch) {
+        for (NotificationSink sink : sinks) {
+            try {
+                sink.deliver(batch);
+            } catch (IOException | RuntimeException ex) {
+                log.error("Exception happened while delivering notifications.", ex);
+            }
+        }
+        long deliveryTime = System.currentTimeMillis();
+        for (Notification notification : batch) {
+            stats.recordLatency(notification.getTime(), deliveryTime);
+        }
+    }
+
+    /**
+     * Method to stop delivery workers, notifications left in the queue are delivered by calling thread,
+     * then sinks are closed.
+     * Workers, which did not stop in {@link #SHUTDOWN_TIMEOUT}, are blocked in sinks, so sinks are aborted
+     * to release them, notifications left in the queue are dropped, and workers, which are still blocked, are abandoned.
+     */
+    public void shutdown() {
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        if (!joinWorkers(SHUTDOWN_TIMEOUT)) {
+            log.error("Notifications delivery workers did not stop in time, sinks are aborted.");
+            for (NotificationSink sink : sinks) {
+                try {
+                    sink.abort();
+                } catch (IOException ex) {
+                    log.error("Exception happened while aborting notifications sink.", ex);
+                }
+            }
+            if (!joinWorkers(SHUTDOWN_TIMEOUT)) {
+                log.error("Notifications delivery workers are still blocked, they are abandoned.");
+            }
+            int dropped = queue.size();
+            queue.clear();
+            if (dropped > 0) {
+                log.warn(dropped + " notifications were not delivered on shutdown.");
+            }
+            return;
+        }
+        List<Notification> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) {
+            deliver(rest);
+        }
+        for (NotificationSink sink : sinks) {
+            try {
+                sink.close();
+            } catch (IOException ex) {
+                log.error("Exception happened while closing notifications sink.", ex);
+            }
+        }
+    }
+
+    /**
+     * Waits for all the workers to stop, no longer than {@code timeout} milliseconds in total
+     *
+     * @return true, if all the workers stopped
+     */
+    private boolean joinWorkers(long timeout) {
+        long deadline = System.currentTimeMillis() + timeout;
+        for (Thread worker : workers) {
+            long waitTime = deadline - System.currentTimeMillis();
+            try {
+                if (waitTime > 0) {
+                    worker.join(waitTime);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            if (worker.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
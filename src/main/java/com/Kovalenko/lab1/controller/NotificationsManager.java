@@ -3,9 +3,11 @@ package com.kovalenko.lab1.controller;
 import com.kovalenko.lab1.model.Task;
 import com.kovalenko.lab1.model.TaskList;
 
-import java.util.Date;
-import java.util.HashSet;
-import java.util.Set;
+import org.apache.log4j.Logger;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Controller class of TaskManager
@@ -16,79 +18,316 @@ import java.util.Set;
  */
 public class NotificationsManager extends Thread {
 
+    /**
+     * System property to choose engine of notifications schedule at startup:
+     * "queue" for priority queue(default), "wheel" for hierarchical timing wheel
+     */
+    public static final String ENGINE_PROPERTY = "lab1.notifications.engine";
+    /**
+     * System property with name of {@link CatchUpPolicy}
+     */
+    public static final String CATCH_UP_PROPERTY = "lab1.notifications.catchup";
+    /**
+     * System property with lateness in milliseconds, after which notification is considered missed
+     */
+    public static final String TOLERANCE_PROPERTY = "lab1.notifications.tolerance";
+
+    public static final long DEFAULT_TOLERANCE = 1000;
+    /**
+     * Maximal time in milliseconds to wait for the next notification at once, so that jumps of system clock
+     * and system suspends are noticed in time
+     */
+    public static final long MAX_WAIT_TIME = 1000;
+    /**
+     * Maximal number of change events, applied to the schedule in one step,
+     * so due notifications are fired between batches of events
+     */
+    public static final int MAX_EVENTS_PER_STEP = 256;
+
+    /**
+     * Policy of handling notifications, which were missed because of long pause of the thread or system suspend
+     */
+    public enum CatchUpPolicy {
+        /**
+         * Tasks, which were due more than tolerance ago, are not notified of
+         */
+        SKIP,
+        /**
+         * Every task, which had notifications in missed period, is notified of once
+         */
+        COALESCE,
+        /**
+         * Every missed notification of every task is delivered separately, in order of their times
+         */
+        ALL
+    }
+
+    private static Logger log = Logger.getLogger(NotificationsManager.class.getName());
+
     private Controller parentController;
     private TaskList taskList;
+    private final NotificationsSchedule schedule;
+    private final Map<Task, ScheduledTask> scheduledTasks = new IdentityHashMap<>();
+    private final Queue<TaskEvent> events = new ConcurrentLinkedQueue<>();
+    private final NotificationsStats stats;
+    private final CatchUpPolicy catchUpPolicy;
+    private final long tolerance;
+    private long lastProcessedTime;
+
+    /**
+     * Constructor, creates NotificationsManager with schedule engine,
+     * specified by {@link #ENGINE_PROPERTY} system property.
+     * Delivery pipeline, configured by system properties, is created, when the manager is started,
+     * so sinks are not opened by managers, which are never started
+     *
+     * @see NotificationsDelivery#fromSystemProperties()
+     */
+    public NotificationsManager() {
+        this(new NotificationsStats());
+    }
+
+    /**
+     * Constructor, creates NotificationsManager, which records it's work into {@code stats}
+     *
+     * @param stats statistics of notifications, may be shared between subsequent managers
+     * @see #NotificationsManager()
+     */
+    public NotificationsManager(NotificationsStats stats) {
+        this.stats = stats;
+        catchUpPolicy = CatchUpPolicy.valueOf(System.getProperty(CATCH_UP_PROPERTY, CatchUpPolicy.COALESCE.name()));
+        tolerance = Long.getLong(TOLERANCE_PROPERTY, DEFAULT_TOLERANCE);
+        if ("wheel".equals(System.getProperty(ENGINE_PROPERTY))) {
+            schedule = new TimingWheelSchedule(System.currentTimeMillis());
+        } else {
+            schedule = new QueueSchedule();
+        }
+    }
 
     public void setParentController(Controller pController) {
         this.parentController = pController;
     }
 
     /**
-     * Method that starts notifications in other thread,
-     * If list of tasks, we currently iterate through mutated(user edited or added new tasks)
-     * iteration is restarted from beginning.
+     * Method that starts notifications in other thread.
      * <p>
-     * Thread starts, gets current time {@code currentDate}, computes 1 second after current time {@code nextSecond}.
-     * If there are any tasks that should be notified of within this period, there will be a message about that.
-     * Task can be only notified in time that is multiple of 1 second, so milliseconds are ignored.
-     * Then thread will sleep for 1 second, and retry this procedure.
+     * Thread puts next notification time of every task into schedule,
+     * then sleeps until notification time of the earliest task in schedule comes.
+     * All the tasks, which notification time has come, are handed to delivery pipeline as one notification,
+     * and put back into the schedule with their following notification times.
+     * If the list of tasks is changed, change events are published with {@link #publish(TaskEvent)} method,
+     * and only changed tasks are rescheduled.
+     * <p>
+     * Notifications are scheduled against absolute times, so the time spent on processing does not delay them.
+     * If notifications were fired too late (e.g. after system suspend),
+     * missed notifications are handled according to {@link CatchUpPolicy}.
      */
     @Override
     public void run() {
-        //System.out.println("STARTED");
         taskList = parentController.getTaskList();
-        Set<Task> incomingTasks;
-        Date currentDate;
-        Date nextSecond;
-        Date nextTimeAfter;
-        while (true) {
+        long scanStart = System.nanoTime();
+        long currentTime = System.currentTimeMillis();
+        int scanned = 0;
+        for (Task task : taskList) {
+            scheduleAfter(task, currentTime - 1);
+            scanned++;
+        }
+        lastProcessedTime = currentTime;
+        stats.recordScan(System.nanoTime() - scanStart, scanned);
+        NotificationsDelivery delivery = NotificationsDelivery.fromSystemProperties(stats);
+        delivery.start();
+        try {
+            while (!Thread.interrupted()) {
+                //all the tasks, which notification time has come, will be delivered by delivery workers
+                for (Notification notification : takeIncomingTasks()) {
+                    delivery.submit(notification);
+                }
+            }
+        } catch (InterruptedException ignored) {
+        } finally {
+            delivery.shutdown();
+        }
+    }
+
+    /**
+     * Method to wait until notification time of the earliest task in schedule comes,
+     * and take all the tasks, which should be notified of at that moment, from the schedule.
+     * Taken tasks are put back into the schedule with their following notification times.
+     * Notifications, which were missed since the last processed time, are handled according to catch-up policy.
+     *
+     * @return notifications about tasks in order of their times, empty if due tasks were cancelled meanwhile
+     * @throws InterruptedException if thread was interrupted while waiting
+     */
+    private List<Notification> takeIncomingTasks() throws InterruptedException {
+        long currentTime = advanceTime(0);
+        boolean eventsLeft = applyEvents(currentTime);
+        long nextTime = schedule.nextTime();
+        while (nextTime == Task.NO_TIME || nextTime > currentTime) {
+            long waitTime = 0;
+            if (!eventsLeft) {
+                waitTime = (nextTime == Task.NO_TIME) ? MAX_WAIT_TIME : Math.min(nextTime - currentTime, MAX_WAIT_TIME);
+                LockSupport.parkUntil(this, currentTime + waitTime);
+            }
             if (Thread.interrupted()) {
-                break;
+                throw new InterruptedException();
             }
-            incomingTasks = new HashSet<>();
-            currentDate = new Date();
-            nextSecond = new Date(currentDate.getTime() + 1000);
-            for (Task task : taskList) {
-                if (parentController.getListMutated()) { //if list mutated while we iterate through, start from beginning
-                    taskList = parentController.getTaskList();
-                    parentController.setListMutated(false);
-                    break;
+            currentTime = advanceTime(waitTime);
+            eventsLeft = applyEvents(currentTime);
+            nextTime = schedule.nextTime();
+        }
+        long stepStart = System.nanoTime();
+        List<ScheduledTask> dueTasks = new ArrayList<>();
+        schedule.pollDue(currentTime, dueTasks);
+        SortedMap<Long, Set<Task>> incomingTasks = new TreeMap<>();
+        for (ScheduledTask scheduledTask : dueTasks) {
+            if (scheduledTask.cancelled) {
+                continue;
+            }
+            scheduledTasks.remove(scheduledTask.task);
+            catchUp(scheduledTask, currentTime, incomingTasks);
+            scheduleAfter(scheduledTask.task, currentTime);
+        }
+        List<Notification> notifications = new ArrayList<>(incomingTasks.size());
+        incomingTasks.forEach((time, tasks) -> {
+            notifications.add(new Notification(time, tasks));
+            stats.recordFired(tasks.size());
+        });
+        stats.recordStep(System.nanoTime() - stepStart);
+        return notifications;
+    }
+
+    /**
+     * Method to put the task of due {@code scheduledTask} into notifications by their times, according to catch-up policy
+     *
+     * @param scheduledTask due scheduled notification of task
+     * @param currentTime   current time in milliseconds
+     * @param incomingTasks notifications to put the task in
+     */
+    private void catchUp(ScheduledTask scheduledTask, long currentTime, SortedMap<Long, Set<Task>> incomingTasks) {
+        Task task = scheduledTask.task;
+        long lateTime = currentTime - tolerance;
+        if (scheduledTask.time >= lateTime) {
+            incomingTasks.computeIfAbsent(scheduledTask.time, k -> new HashSet<>()).add(task);
+            return;
+        }
+        // notifications in [scheduledTask.time, lateTime) are late
+        long lateCount = 1 + task.countOccurrences(scheduledTask.time, lateTime - 1);
+        switch (catchUpPolicy) {
+            case COALESCE:
+                incomingTasks.computeIfAbsent(scheduledTask.time, k -> new HashSet<>()).add(task);
+                stats.recordCaughtUp(1);
+                stats.recordMissed(lateCount - 1);
+                break;
+            case ALL:
+                incomingTasks.computeIfAbsent(scheduledTask.time, k -> new HashSet<>()).add(task);
+                PrimitiveIterator.OfLong missedTimes = task.occurrences(scheduledTask.time, currentTime);
+                while (missedTimes.hasNext()) {
+                    incomingTasks.computeIfAbsent(missedTimes.nextLong(), k -> new HashSet<>()).add(task);
                 }
-                if (task.isActive() && task.isRepeated()) {
-                    nextTimeAfter = task.nextTimeAfter(currentDate);
-                    if (nextTimeAfter != null && nextTimeAfter.getTime() <= nextSecond.getTime()) {
-                        incomingTasks.add(task);
-                    }
-                } else if (task.isActive()) {
-                    if (task.getStartTime().getTime() >= currentDate.getTime() && task.getStartTime().getTime() <= nextSecond.getTime()) {
-                        incomingTasks.add(task);
-                    }
+                stats.recordCaughtUp(lateCount);
+                break;
+            case SKIP:
+                // only the latest notification of the task, which is not too late, is delivered
+                long latestTime = Task.NO_TIME;
+                PrimitiveIterator.OfLong timesInTolerance = task.occurrences(lateTime - 1, currentTime);
+                while (timesInTolerance.hasNext()) {
+                    latestTime = timesInTolerance.nextLong();
                 }
-            }
-            try {
-                if (incomingTasks.size() > 0) {
-                    //if there were some notifiable tasks in 1 second window of thread's work,
-                    // they will be displayed on the screen
-                    notifyUser(incomingTasks);
+                if (latestTime != Task.NO_TIME) {
+                    incomingTasks.computeIfAbsent(latestTime, k -> new HashSet<>()).add(task);
                 }
-                Thread.sleep(1000);
-            } catch (InterruptedException ignored) {
+                stats.recordMissed(lateCount);
                 break;
+        }
+    }
+
+    /**
+     * Method to make current time the last processed time.
+     * Pause of the thread, which is longer than expected, is logged (e.g. after system suspend or clock adjustment).
+     *
+     * @param expectedPause expected time in milliseconds, passed since the last processed time
+     * @return current time in milliseconds
+     */
+    private long advanceTime(long expectedPause) {
+        long currentTime = System.currentTimeMillis();
+        if (currentTime - lastProcessedTime > expectedPause + tolerance) {
+            log.warn("Notifications were paused for " + (currentTime - lastProcessedTime) + " ms, "
+                         + "missed notifications are handled with " + catchUpPolicy + " policy.");
+        }
+        lastProcessedTime = currentTime;
+        return currentTime;
+    }
+
+    /**
+     * Method to put {@code task} into the schedule with it's next notification time after {@code time},
+     * previous notification time of the task is cancelled.
+     * Should be called by notifications thread only, as the schedule is not shared with other threads.
+     */
+    private void scheduleAfter(Task task, long time) {
+        unschedule(task);
+        long nextTime = task.nextTimeAfterMillis(time);
+        if (nextTime != Task.NO_TIME) {
+            ScheduledTask scheduledTask = new ScheduledTask(task, nextTime);
+            scheduledTasks.put(task, scheduledTask);
+            schedule.add(scheduledTask);
+        }
+    }
+
+    /**
+     * Method to apply published change events to the schedule, at most {@link #MAX_EVENTS_PER_STEP} at once.
+     * Should be called by notifications thread only, as the schedule is not shared with other threads.
+     *
+     * @param currentTime current time in milliseconds
+     * @return true, if there are events left to apply
+     */
+    private boolean applyEvents(long currentTime) {
+        TaskEvent event;
+        for (int i = 0; i < MAX_EVENTS_PER_STEP && (event = events.poll()) != null; i++) {
+            switch (event.getType()) {
+                case ADDED:
+                    scheduleAfter(event.getTask(), currentTime);
+                    break;
+                case REMOVED:
+                    unschedule(event.getTask());
+                    break;
+                case EDITED:
+                    // edited copy replaces the task, so notification of the replaced task is moved to the copy
+                    ScheduledTask previous = unschedule(event.getBefore());
+                    if (event.affectsSchedule()) {
+                        scheduleAfter(event.getTask(), currentTime);
+                    } else if (previous != null) {
+                        ScheduledTask scheduledTask = new ScheduledTask(event.getTask(), previous.time);
+                        scheduledTasks.put(event.getTask(), scheduledTask);
+                        schedule.add(scheduledTask);
+                    }
+                    break;
             }
         }
+        return !events.isEmpty();
     }
 
     /**
-     * Method to display notification on screen.
-     * All the tasks, contained in set will be displayed.
+     * Method to cancel scheduled notification of {@code task}.
+     * Should be called by notifications thread only, as the schedule is not shared with other threads.
      *
-     * @param tasks Set of tasks, that should be displayed on the screen.
+     * @return cancelled notification, null if the task was not scheduled
      */
-    public void notifyUser(Set<Task> tasks) {
-        System.out.println("\n\n========= NOTIFICATION ==========");
-        for (Task task : tasks) {
-            System.out.println(task);
+    private ScheduledTask unschedule(Task task) {
+        ScheduledTask previous = scheduledTasks.remove(task);
+        if (previous != null) {
+            schedule.cancel(previous);
         }
-        System.out.println("=================================\n");
+        return previous;
+    }
+
+    /**
+     * Method to publish change of the list of tasks, so that notifications of changed task are rescheduled.
+     * Events are applied by notifications thread in order of publishing. Publisher only adds event to lock-free queue
+     * and unparks notifications thread, no lock is taken, so it never waits for scheduling work.
+     *
+     * @param event change of the list of tasks
+     */
+    public void publish(TaskEvent event) {
+        events.add(event);
+        LockSupport.unpark(this);
     }
 }
@@ -0,0 +1,48 @@
+package com.kovalenko.lab1.controller;
+
+import java.util.Collection;
+
+/**
+ * Engine of notifications schedule, used by {@link NotificationsManager}
+ * to keep scheduled notifications ordered by their time.
+ * Implementations are not thread-safe, they are used by notifications thread of NotificationsManager only.
+ *
+ * @author Anton Kovalenko
+ * @version 1.0
+ * @see QueueSchedule
+ * @see TimingWheelSchedule
+ */
+interface NotificationsSchedule {
+
+    /**
+     * Method to add scheduled notification to schedule
+     *
+     * @param scheduledTask notification to add
+     */
+    void add(ScheduledTask scheduledTask);
+
+    /**
+     * Method to cancel scheduled notification, which was added to schedule and was not taken from it yet.
+     * Cancelled notification is never taken, schedule purges cancelled notifications,
+     * when they make more than a half of it, so their number stays bounded under steady editing
+     *
+     * @param scheduledTask notification to cancel
+     */
+    void cancel(ScheduledTask scheduledTask);
+
+    /**
+     * Method to get time, when schedule should be polled next time
+     *
+     * @return time in milliseconds, not later than the earliest scheduled notification,
+     * {@link com.kovalenko.lab1.model.Task#NO_TIME} if schedule is empty
+     */
+    long nextTime();
+
+    /**
+     * Method to take all the notifications, which time is not after {@code currentTime}, from schedule
+     *
+     * @param currentTime current time in milliseconds
+     * @param dueTasks    collection to put taken notifications in
+     */
+    void pollDue(long currentTime, Collection<ScheduledTask> dueTasks);
+}
@@ -0,0 +1,234 @@
+package com.kovalenko.lab1.controller;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of notifications: latency of delivery, duration of scheduling steps
+ * and counters of fired, missed and caught up notifications.
+ * <p>
+ * Latency is kept in histogram with buckets of power of two milliseconds,
+ * so recording costs O(1) and does not allocate. All the methods are thread safe,
+ * statistics are updated by notifications manager and delivery workers and are read by JMX or controller.
+ *
+ * @author Anton Kovalenko
+ * @version 1.0
+ * @see NotificationsManager
+ * @see NotificationsDelivery
+ */
+public class NotificationsStats implements NotificationsStatsMBean {
+
+    /**
+     * Name, under which statistics are registered in platform MBean server
+     */
+    public static final String OBJECT_NAME = "com.kovalenko.lab1:type=NotificationsStats";
+
+    private static final int BUCKETS = 24;
+
+    private final LongAdder fired = new LongAdder();
+    private final LongAdder missed = new LongAdder();
+    private final LongAdder caughtUp = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLongArray latencyHistogram = new AtomicLongArray(BUCKETS);
+    private final LongAdder latencySum = new LongAdder();
+    private final AtomicLong maxLatency = new AtomicLong();
+    private final LongAdder steps = new LongAdder();
+    private final LongAdder stepsNanos = new LongAdder();
+    private final AtomicLong maxStepNanos = new AtomicLong();
+    private volatile long lastScanNanos;
+    private volatile int lastScanSize;
+
+    /**
+     * Gets upper bound of latency histogram bucket
+     *
+     * @param bucket index of bucket
+     * @return latency in milliseconds, all the latencies in bucket are less than it
+     */
+    public static long bucketUpperBound(int bucket) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    private static int bucketOf(long latency) {
+        if (latency < 1) {
+            return 0;
+        }
+        return Math.min(64 - Long.numberOfLeadingZeros(latency), BUCKETS - 1);
+    }
+
+    void recordFired(long count) {
+        fired.add(count);
+    }
+
+    void recordMissed(long count) {
+        missed.add(count);
+    }
+
+    void recordCaughtUp(long count) {
+        caughtUp.add(count);
+    }
+
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    /**
+     * Records latency of notification delivery
+     *
+     * @param scheduledTime scheduled time of notification in milliseconds
+     * @param deliveryTime  actual time of delivery in milliseconds
+     */
+    void recordLatency(long scheduledTime, long deliveryTime) {
+        long latency = Math.max(deliveryTime - scheduledTime, 0);
+        latencyHistogram.incrementAndGet(bucketOf(latency));
+        latencySum.add(latency);
+        maxLatency.accumulateAndGet(latency, Math::max);
+    }
+
+    /**
+     * Records duration of one scheduling step of notifications manager
+     *
+     * @param nanos duration in nanoseconds
+     */
+    void recordStep(long nanos) {
+        steps.increment();
+        stepsNanos.add(nanos);
+        maxStepNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Records duration of full scan of the list of tasks
+     *
+     * @param nanos duration in nanoseconds
+     * @param size  number of scanned tasks
+     */
+    void recordScan(long nanos, int size) {
+        lastScanNanos = nanos;
+        lastScanSize = size;
+    }
+
+    @Override
+    public long getFiredCount() {
+        return fired.sum();
+    }
+
+    @Override
+    public long getMissedCount() {
+        return missed.sum();
+    }
+
+    @Override
+    public long getCaughtUpCount() {
+        return caughtUp.sum();
+    }
+
+    @Override
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    @Override
+    public long getDeliveredCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += latencyHistogram.get(i);
+        }
+        return count;
+    }
+
+    @Override
+    public double getMeanLatencyMillis() {
+        long count = getDeliveredCount();
+        return count == 0 ? 0 : (double) latencySum.sum() / count;
+    }
+
+    @Override
+    public long getMaxLatencyMillis() {
+        return maxLatency.get();
+    }
+
+    @Override
+    public long getLatencyP50Millis() {
+        return latencyPercentile(0.5);
+    }
+
+    @Override
+    public long getLatencyP99Millis() {
+        return latencyPercentile(0.99);
+    }
+
+    /**
+     * Gets upper bound of latency percentile, estimated by histogram
+     *
+     * @param fraction fraction of notifications, which latency should not be more than returned one, from 0 to 1
+     * @return latency in milliseconds, 0 if nothing was delivered
+     */
+    private long latencyPercentile(double fraction) {
+        long[] histogram = getLatencyHistogram();
+        long count = 0;
+        for (long bucketCount : histogram) {
+            count += bucketCount;
+        }
+        long rank = (long) Math.ceil(count * fraction);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += histogram[i];
+            if (seen >= rank && seen > 0) {
+                return Math.min(bucketUpperBound(i), getMaxLatencyMillis());
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public long[] getLatencyHistogram() {
+        long[] histogram = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram[i] = latencyHistogram.get(i);
+        }
+        return histogram;
+    }
+
+    @Override
+    public long getStepCount() {
+        return steps.sum();
+    }
+
+    @Override
+    public double getMeanStepMicros() {
+        long count = steps.sum();
+        return count == 0 ? 0 : stepsNanos.sum() / 1000.0 / count;
+    }
+
+    @Override
+    public long getMaxStepMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxStepNanos.get());
+    }
+
+    @Override
+    public long getLastScanMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(lastScanNanos);
+    }
+
+    @Override
+    public int getLastScanSize() {
+        return lastScanSize;
+    }
+
+    @Override
+    public void reset() {
+        fired.reset();
+        missed.reset();
+        caughtUp.reset();
+        dropped.reset();
+        for (int i = 0; i < BUCKETS; i++) {
+            latencyHistogram.set(i, 0);
+        }
+        latencySum.reset();
+        maxLatency.set(0);
+        steps.reset();
+        stepsNanos.reset();
+        maxStepNanos.set(0);
+    }
+}
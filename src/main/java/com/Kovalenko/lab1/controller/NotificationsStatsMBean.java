@@ -0,0 +1,92 @@
+package com.kovalenko.lab1.controller;
+
+/**
+ * Management interface of notifications statistics, exposed through JMX
+ *
+ * @author Anton Kovalenko
+ * @version 1.0
+ * @see NotificationsStats
+ */
+public interface NotificationsStatsMBean {
+
+    /**
+     * @return number of notifications of tasks, handed to delivery
+     */
+    long getFiredCount();
+
+    /**
+     * @return number of notifications of tasks, which were late and were not delivered because of catch-up policy
+     */
+    long getMissedCount();
+
+    /**
+     * @return number of notifications of tasks, which were late and were delivered on catch-up
+     */
+    long getCaughtUpCount();
+
+    /**
+     * @return number of notifications, dropped because the delivery queue was full
+     */
+    long getDroppedCount();
+
+    /**
+     * @return number of delivered notifications, which latency was measured
+     */
+    long getDeliveredCount();
+
+    /**
+     * @return mean latency between scheduled and actual delivery time in milliseconds
+     */
+    double getMeanLatencyMillis();
+
+    /**
+     * @return maximal latency between scheduled and actual delivery time in milliseconds
+     */
+    long getMaxLatencyMillis();
+
+    /**
+     * @return upper bound of median latency in milliseconds
+     */
+    long getLatencyP50Millis();
+
+    /**
+     * @return upper bound of 99th percentile of latency in milliseconds
+     */
+    long getLatencyP99Millis();
+
+    /**
+     * @return latency histogram, element i is number of notifications with latency below
+     * {@link NotificationsStats#bucketUpperBound(int)} milliseconds and not below bound of the previous bucket
+     */
+    long[] getLatencyHistogram();
+
+    /**
+     * @return number of scheduling steps, taken by notifications manager
+     */
+    long getStepCount();
+
+    /**
+     * @return mean duration of scheduling step in microseconds
+     */
+    double getMeanStepMicros();
+
+    /**
+     * @return maximal duration of scheduling step in microseconds
+     */
+    long getMaxStepMicros();
+
+    /**
+     * @return duration of the last full scan of the list of tasks in microseconds
+     */
+    long getLastScanMicros();
+
+    /**
+     * @return number of tasks in the last full scan of the list of tasks
+     */
+    int getLastScanSize();
+
+    /**
+     * Sets all the counters to zero
+     */
+    void reset();
+}
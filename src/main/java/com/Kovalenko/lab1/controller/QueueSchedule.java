@@ -0,0 +1,76 @@
+package com.kovalenko.lab1.controller;
+
+import com.kovalenko.lab1.model.Task;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Notifications schedule, backed by binary heap,
+ * adding and taking notifications costs O(log n).
+ * Cancelled notifications stay in the heap until they reach it's head, or until they make more than
+ * a half of the heap, then the heap is rebuilt without them in O(n), so cancelling costs O(1) amortized.
+ *
+ * @author Anton Kovalenko
+ * @version 1.0
+ * @see NotificationsSchedule
+ */
+class QueueSchedule implements NotificationsSchedule {
+
+    private PriorityQueue<ScheduledTask> queue = new PriorityQueue<>();
+    private int cancelledCount;
+
+    @Override
+    public void add(ScheduledTask scheduledTask) {
+        queue.add(scheduledTask);
+    }
+
+    @Override
+    public void cancel(ScheduledTask scheduledTask) {
+        if (scheduledTask.cancelled) {
+            return;
+        }
+        scheduledTask.cancelled = true;
+        cancelledCount++;
+        if (cancelledCount > queue.size() / 2) {
+            purge();
+        }
+    }
+
+    /**
+     * Rebuilds the heap without cancelled notifications
+     */
+    private void purge() {
+        List<ScheduledTask> tasks = new ArrayList<>(queue.size() - cancelledCount);
+        for (ScheduledTask scheduledTask : queue) {
+            if (!scheduledTask.cancelled) {
+                tasks.add(scheduledTask);
+            }
+        }
+        queue = new PriorityQueue<>(tasks);
+        cancelledCount = 0;
+    }
+
+    @Override
+    public long nextTime() {
+        while (!queue.isEmpty() && queue.peek().cancelled) {
+            queue.poll();
+            cancelledCount--;
+        }
+        return queue.isEmpty() ? Task.NO_TIME : queue.peek().time;
+    }
+
+    @Override
+    public void pollDue(long currentTime, Collection<ScheduledTask> dueTasks) {
+        while (!queue.isEmpty() && queue.peek().time <= currentTime) {
+            ScheduledTask scheduledTask = queue.poll();
+            if (scheduledTask.cancelled) {
+                cancelledCount--;
+            } else {
+                dueTasks.add(scheduledTask);
+            }
+        }
+    }
+}
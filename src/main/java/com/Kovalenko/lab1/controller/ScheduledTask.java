@@ -0,0 +1,28 @@
+package com.kovalenko.lab1.controller;
+
+import com.kovalenko.lab1.model.Task;
+
+/**
+ * Scheduled notification of a task, used as entry of notification schedules.
+ * Cancelled entries are skipped, when their time comes, or are purged, when they make more than a half of schedule.
+ *
+ * @author Anton Kovalenko
+ * @version 1.0
+ * @see NotificationsSchedule
+ * @see NotificationsManager
+ */
+class ScheduledTask implements Comparable<ScheduledTask> {
+    final Task task;
+    final long time;
+    boolean cancelled;
+
+    ScheduledTask(Task task, long time) {
+        this.task = task;
+        this.time = time;
+    }
+
+    @Override
+    public int compareTo(ScheduledTask o) {
+        return Long.compare(this.time, o.time);
+    }
+}
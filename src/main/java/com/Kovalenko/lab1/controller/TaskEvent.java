@@ -0,0 +1,144 @@
+package com.kovalenko.lab1.controller;
+
+import com.kovalenko.lab1.model.Task;
+
+/**
+ * Event about change of the list of tasks, published by {@link Controller}
+ * and consumed by {@link NotificationsManager} to update it's schedule incrementally.
+ * <p>
+ * Event holds the changed task itself and snapshots of it's state before and after the change,
+ * so consumers can tell, what was changed, even if the task was edited again since.
+ * Edited task is not changed in place, it is replaced in list by edited copy,
+ * so event about edit holds the replaced task as state before the change.
+ *
+ * @author Anton Kovalenko
+ * @version 1.0
+ * @see NotificationsManager#publish(TaskEvent)
+ */
+public class TaskEvent {
+
+    /**
+     * Type of change of the list of tasks
+     */
+    public enum Type {
+        ADDED,
+        REMOVED,
+        EDITED
+    }
+
+    private final Type type;
+    private final Task task;
+    private final Task before;
+    private final Task after;
+
+    private TaskEvent(Type type, Task task, Task before, Task after) {
+        this.type = type;
+        this.task = task;
+        this.before = before;
+        this.after = after;
+    }
+
+    /**
+     * Creates event about task, added to list
+     *
+     * @param task added task
+     * @return event with snapshot of added task as state after the change
+     */
+    public static TaskEvent added(Task task) {
+        return new TaskEvent(Type.ADDED, task, null, snapshotOf(task));
+    }
+
+    /**
+     * Creates event about task, removed from list
+     *
+     * @param task removed task
+     * @return event with snapshot of removed task as state before the change
+     */
+    public static TaskEvent removed(Task task) {
+        return new TaskEvent(Type.REMOVED, task, snapshotOf(task), null);
+    }
+
+    /**
+     * Creates event about task, edited in list
+     *
+     * @param task     edited copy of the task, which replaced it in list
+     * @param replaced the task, which was replaced in list by {@code task}
+     * @return event with the replaced task as state before the change and snapshot of edited copy as state after it
+     */
+    public static TaskEvent edited(Task task, Task replaced) {
+        return new TaskEvent(Type.EDITED, task, replaced, snapshotOf(task));
+    }
+
+    /**
+     * Method to take snapshot of current state of the task
+     *
+     * @param task task to take snapshot of
+     * @return copy of the task
+     */
+    public static Task snapshotOf(Task task) {
+        try {
+            return task.clone();
+        } catch (CloneNotSupportedException ex) {
+            throw new IllegalStateException("Task can't be cloned", ex);
+        }
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return changed task, contained in list
+     */
+    public Task getTask() {
+        return task;
+    }
+
+    /**
+     * @return snapshot of the task before the change, the replaced task itself for edited task, null for added task
+     */
+    public Task getBefore() {
+        return before;
+    }
+
+    /**
+     * @return snapshot of the task after the change, null for removed task
+     */
+    public Task getAfter() {
+        return after;
+    }
+
+    /**
+     * Method to check, if the change could affect notifications of the task
+     *
+     * @return true, if task was added or removed, or if it's state, times or repeat interval were edited,
+     * false if only the title was edited
+     */
+    public boolean affectsSchedule() {
+        if (type != Type.EDITED) {
+            return true;
+        }
+        return affectsTimes()
+                   || before.isActive() != after.isActive()
+                   || before.getRepeatInterval() != after.getRepeatInterval();
+    }
+
+    /**
+     * Method to check, if the change could affect times of the task, by which lists of tasks index it
+     *
+     * @return true, if times of the task were edited
+     * @see com.kovalenko.lab1.model.TaskList#taskEdited(Task)
+     */
+    public boolean affectsTimes() {
+        return type == Type.EDITED
+                   && (before.isRepeated() != after.isRepeated()
+                           || before.timeMillis() != after.timeMillis()
+                           || before.startMillis() != after.startMillis()
+                           || before.endMillis() != after.endMillis());
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + task;
+    }
+}
@@ -0,0 +1,220 @@
+package com.kovalenko.lab1.controller;
+
+import com.kovalenko.lab1.model.Task;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Notifications schedule, backed by hierarchical timing wheel.
+ * <p>
+ * Wheels of milliseconds, seconds, minutes, hours and days are kept, each slot of a wheel
+ * is a list of notifications, which time is in the slot's period. Notification is put into the lowest wheel,
+ * which current rotation contains it's time, and is moved to lower wheels (cascaded) when
+ * the slot it is kept in becomes current. Notifications, which are more than a year ahead, are kept in overflow list,
+ * which is checked once a day. Adding notification costs O(1), taking it costs O(1) amortized,
+ * as every notification is cascaded at most once per wheel.
+ * Cancelled notifications stay in their slots until the slots are taken or cascaded, or until they make
+ * more than a half of the schedule, then all the slots are swept, so cancelling costs O(1) amortized.
+ *
+ * @author Anton Kovalenko
+ * @version 1.0
+ * @see NotificationsSchedule
+ */
+class TimingWheelSchedule implements NotificationsSchedule {
+
+    private static final int[] SLOTS = {1000, 60, 60, 24, 366};
+    private static final long[] TICKS = {1L, 1000L, 60_000L, 3_600_000L, 86_400_000L};
+    private static final int LEVELS = SLOTS.length;
+    /**
+     * Minimal number of cancelled notifications to sweep the slots, so a sweep of all the slots of small schedule
+     * is paid by at least as many cancels
+     */
+    private static final int MIN_PURGE_COUNT = 1024;
+
+    private final List<ScheduledTask>[][] wheels;
+    private final int[] counts = new int[LEVELS];
+    private List<ScheduledTask> overflow = new ArrayList<>();
+    private List<ScheduledTask> overdue = new ArrayList<>();
+    private long currentTick; // next millisecond, that is not processed yet
+    private int size; // notifications in wheels, overflow and overdue lists, cancelled ones included
+    private int cancelledCount;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    TimingWheelSchedule(long currentTime) {
+        wheels = new List[LEVELS][];
+        for (int level = 0; level < LEVELS; level++) {
+            wheels[level] = new List[SLOTS[level]];
+        }
+        currentTick = currentTime;
+    }
+
+    @Override
+    public void add(ScheduledTask scheduledTask) {
+        size++;
+        long time = scheduledTask.time;
+        if (time < currentTick) {
+            overdue.add(scheduledTask);
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            boolean sameRotation = (level < LEVELS - 1)
+                                       ? time / TICKS[level + 1] == currentTick / TICKS[level + 1]
+                                       : time / TICKS[level] - currentTick / TICKS[level] < SLOTS[level];
+            if (sameRotation) {
+                int slot = (int) ((time / TICKS[level]) % SLOTS[level]);
+                List<ScheduledTask> tasks = wheels[level][slot];
+                if (tasks == null) {
+                    tasks = wheels[level][slot] = new ArrayList<>();
+                }
+                tasks.add(scheduledTask);
+                counts[level]++;
+                return;
+            }
+        }
+        overflow.add(scheduledTask);
+    }
+
+    @Override
+    public void cancel(ScheduledTask scheduledTask) {
+        if (scheduledTask.cancelled) {
+            return;
+        }
+        scheduledTask.cancelled = true;
+        cancelledCount++;
+        if (cancelledCount > size / 2 && cancelledCount >= MIN_PURGE_COUNT) {
+            purge();
+        }
+    }
+
+    /**
+     * Removes cancelled notifications from all the slots and lists
+     */
+    private void purge() {
+        for (int level = 0; level < LEVELS; level++) {
+            List<ScheduledTask>[] wheel = wheels[level];
+            for (int slot = 0; slot < wheel.length; slot++) {
+                List<ScheduledTask> tasks = wheel[slot];
+                if (tasks == null) {
+                    continue;
+                }
+                int taskCount = tasks.size();
+                tasks.removeIf(scheduledTask -> scheduledTask.cancelled);
+                counts[level] -= taskCount - tasks.size();
+                if (tasks.isEmpty()) {
+                    wheel[slot] = null;
+                }
+            }
+        }
+        overflow.removeIf(scheduledTask -> scheduledTask.cancelled);
+        overdue.removeIf(scheduledTask -> scheduledTask.cancelled);
+        size -= cancelledCount;
+        cancelledCount = 0;
+    }
+
+    @Override
+    public long nextTime() {
+        if (!overdue.isEmpty()) {
+            return overdue.get(0).time;
+        }
+        if (counts[0] > 0) {
+            int slot = (int) (currentTick % SLOTS[0]);
+            for (int i = slot; i < SLOTS[0]; i++) {
+                if (wheels[0][i] != null) {
+                    return currentTick - slot + i;
+                }
+            }
+        }
+        for (int level = 1; level < LEVELS; level++) {
+            if (counts[level] > 0) {
+                return nextBoundary(level);
+            }
+        }
+        return overflow.isEmpty() ? Task.NO_TIME : nextBoundary(LEVELS - 1);
+    }
+
+    /**
+     * Time, when next slot of wheel {@code level} becomes current
+     */
+    private long nextBoundary(int level) {
+        return (currentTick / TICKS[level] + 1) * TICKS[level];
+    }
+
+    @Override
+    public void pollDue(long currentTime, Collection<ScheduledTask> dueTasks) {
+        List<ScheduledTask> overdueTasks = overdue;
+        overdue = new ArrayList<>();
+        size -= overdueTasks.size();
+        takeNotCancelled(overdueTasks, dueTasks);
+
+        while (currentTick <= currentTime) {
+            if (counts[0] > 0) {
+                int slot = (int) (currentTick % SLOTS[0]);
+                List<ScheduledTask> tasks = wheels[0][slot];
+                if (tasks != null) {
+                    wheels[0][slot] = null;
+                    counts[0] -= tasks.size();
+                    size -= tasks.size();
+                    takeNotCancelled(tasks, dueTasks);
+                }
+                currentTick++;
+            } else {
+                // nothing can become due until the next slot of the lowest not empty wheel becomes current
+                int level = 1;
+                while (level < LEVELS - 1 && counts[level] == 0) {
+                    level++;
+                }
+                currentTick = Math.min(nextBoundary(level), currentTime + 1);
+            }
+            if (currentTick % TICKS[1] == 0) {
+                cascade();
+            }
+        }
+    }
+
+    /**
+     * Moves notifications from slots, which became current, to lower wheels, starting from the highest wheel
+     */
+    private void cascade() {
+        if (currentTick % TICKS[LEVELS - 1] == 0 && !overflow.isEmpty()) {
+            List<ScheduledTask> tasks = overflow;
+            overflow = new ArrayList<>();
+            size -= tasks.size();
+            addNotCancelled(tasks);
+        }
+        for (int level = LEVELS - 1; level > 0; level--) {
+            if (currentTick % TICKS[level] != 0 || counts[level] == 0) {
+                continue;
+            }
+            int slot = (int) ((currentTick / TICKS[level]) % SLOTS[level]);
+            List<ScheduledTask> tasks = wheels[level][slot];
+            if (tasks != null) {
+                wheels[level][slot] = null;
+                counts[level] -= tasks.size();
+                size -= tasks.size();
+                addNotCancelled(tasks);
+            }
+        }
+    }
+
+    private void addNotCancelled(List<ScheduledTask> tasks) {
+        for (ScheduledTask scheduledTask : tasks) {
+            if (!scheduledTask.cancelled) {
+                add(scheduledTask);
+            } else {
+                cancelledCount--;
+            }
+        }
+    }
+
+    private void takeNotCancelled(List<ScheduledTask> tasks, Collection<ScheduledTask> dueTasks) {
+        for (ScheduledTask scheduledTask : tasks) {
+            if (!scheduledTask.cancelled) {
+                dueTasks.add(scheduledTask);
+            } else {
+                cancelledCount--;
+            }
+        }
+    }
+}
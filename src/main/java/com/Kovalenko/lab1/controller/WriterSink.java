@@ -0,0 +1,132 @@
+package com.kovalenko.lab1.controller;
+
+import com.kovalenko.lab1.model.Task;
+
+import java.io.*;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Notification sink, which writes notifications as text into Writer,
+ * Writer is flushed once per batch. Batches are written one at a time, so batches of different delivery workers
+ * are not interleaved. Console sink writes batches while holding the lock of System.out,
+ * so they are not interleaved with other output, printed to console.
+ *
+ * @author Anton Kovalenko
+ * @version 1.0
+ * @see NotificationSink
+ */
+public class WriterSink implements NotificationSink {
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private final Writer out;
+    private final boolean closeWriter;
+    private final Closeable resource;
+    private final Object lock;
+
+    /**
+     * Constructor, creates sink, which writes notifications into {@code out}
+     *
+     * @param out         Writer to write notifications in
+     * @param closeWriter true, if {@code out} should be closed together with the sink
+     */
+    public WriterSink(Writer out, boolean closeWriter) {
+        this(out, closeWriter, null, null);
+    }
+
+    /**
+     * Constructor, creates sink, which writes notifications into {@code out},
+     * which writes into {@code resource}, closed on {@link #abort()}
+     *
+     * @param out         Writer to write notifications in
+     * @param closeWriter true, if {@code out} should be closed together with the sink
+     * @param resource    stream or socket {@code out} writes into, null if there is nothing to close on abort
+     * @param lock        object to lock while batch is written, null to lock the sink itself
+     */
+    private WriterSink(Writer out, boolean closeWriter, Closeable resource, Object lock) {
+        this.out = out;
+        this.closeWriter = closeWriter;
+        this.resource = resource;
+        this.lock = (lock != null) ? lock : this;
+    }
+
+    /**
+     * Creates sink, which prints notifications to System.out.
+     * Batch is written and flushed while holding the lock of System.out, which PrintStream takes for each print,
+     * so lines of notifications and lines, printed by other threads, are not mixed
+     *
+     * @return console sink
+     */
+    public static WriterSink console() {
+        PrintStream console = System.out;
+        return new WriterSink(new OutputStreamWriter(console), false, null, console);
+    }
+
+    /**
+     * Creates sink, which appends notifications to the file
+     *
+     * @param file file to append notifications to
+     * @return file sink
+     * @throws IOException when file can't be opened
+     */
+    public static WriterSink file(File file) throws IOException {
+        FileOutputStream stream = new FileOutputStream(file, true);
+        return new WriterSink(new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8)), true, stream, null);
+    }
+
+    /**
+     * Creates sink, which sends notifications to the socket
+     *
+     * @param host host to connect to
+     * @param port port to connect to
+     * @return socket sink
+     * @throws IOException when connection can't be established
+     */
+    public static WriterSink socket(String host, int port) throws IOException {
+        Socket socket = new Socket(host, port);
+        try {
+            return new WriterSink(new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)), true, socket, null);
+        } catch (IOException ex) {
+            socket.close();
+            throw ex;
+        }
+    }
+
+    @Override
+    public void deliver(List<Notification> notifications) throws IOException {
+        synchronized (lock) {
+            for (Notification notification : notifications) {
+                out.write("\n\n========= NOTIFICATION ==========" + LINE_SEPARATOR);
+                for (Task task : notification.getTasks()) {
+                    out.write(task.toString());
+                    out.write(LINE_SEPARATOR);
+                }
+                out.write("=================================\n" + LINE_SEPARATOR);
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * Closes the file or socket, the sink writes into, without taking locks of the Writer,
+     * so delivery, blocked in writing, fails instead of waiting
+     *
+     * @throws IOException when there was exception during closing
+     */
+    @Override
+    public void abort() throws IOException {
+        if (resource != null) {
+            resource.close();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closeWriter) {
+            out.close();
+        } else {
+            out.flush();
+        }
+    }
+}
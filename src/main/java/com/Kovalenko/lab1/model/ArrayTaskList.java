@@ -2,6 +2,8 @@ package com.kovalenko.lab1.model;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * class ArrayTaskList
@@ -41,7 +43,7 @@ public class ArrayTaskList extends TaskList implements Cloneable, Iterable<Task>
      *
      * @see Task
      * @see Task#equals(Object)
-     * @see System#arraycopy(Object, int, Object, int, int)
+     * @see #ensureCapacity(int)
      * @throws IllegalArgumentException if one tries to add {@code emtyTask}
      * or null value in list
      */
@@ -51,20 +53,59 @@ public class ArrayTaskList extends TaskList implements Cloneable, Iterable<Task>
         if (task == null || task.equals(emptyTask)) {
             throw new IllegalArgumentException("Adding empty tasks into list is not allowed");
         }
+        ensureCapacity(size() + 1);
+        this.taskArray[++lastTaskIndex] = task;
+    }
+
+    /**
+     * Method for adding all the Tasks of {@code tasks} to the end of array in their order.
+     * Array grows at most once.
+     *
+     * @param tasks Tasks to be added to array, should not be empty
+     * @see #add(Task)
+     * @throws IllegalArgumentException if one tries to add {@code emtyTask}
+     * or null value in list, no Tasks are added in that case
+     */
+    public void addAll(Collection<Task> tasks) throws IllegalArgumentException {
+        Task emptyTask = new Task();
+        Task[] tasksToAdd = tasks.toArray(new Task[0]);
+        for (Task task : tasksToAdd) {
+            if (task == null || task.equals(emptyTask)) {
+                throw new IllegalArgumentException("Adding empty tasks into list is not allowed");
+            }
+        }
+        ensureCapacity(size() + tasksToAdd.length);
+        System.arraycopy(tasksToAdd, 0, this.taskArray, size(), tasksToAdd.length);
+        lastTaskIndex += tasksToAdd.length;
+    }
+
+    /**
+     * Method to increase capacity of array, so it can hold at least {@code minCapacity} Tasks
+     * without growing. Capacity grows at least by half of current capacity, so adding n Tasks one by one
+     * costs O(n) in total.
+     *
+     * @param minCapacity desired minimum capacity
+     */
+    public void ensureCapacity(int minCapacity) {
         int currentCapacity = this.taskArray.length;
-        if (size() < currentCapacity ) {
-            this.taskArray[++lastTaskIndex] = task;
-        } else {
-            Task [] newTaskArray = new Task[currentCapacity + (currentCapacity * 3 / 2 + 1)];
-            System.arraycopy(this.taskArray, 0, newTaskArray, 0, ++lastTaskIndex);
-            newTaskArray[lastTaskIndex] = task;
-            this.taskArray = newTaskArray.clone();
+        if (minCapacity > currentCapacity) {
+            int newCapacity = Math.max(currentCapacity + (currentCapacity >> 1) + 1, minCapacity);
+            this.taskArray = Arrays.copyOf(this.taskArray, newCapacity);
+        }
+    }
+
+    /**
+     * Method to decrease capacity of array to current size of list
+     */
+    public void trimToSize() {
+        if (size() < this.taskArray.length) {
+            this.taskArray = Arrays.copyOf(this.taskArray, Math.max(size(), 1));
         }
     }
 
     /**
      * Method for removing Tasks from array
-     * First Task from array to be equal to {@code task} will be removed
+     * Task by {@code index} is removed by shifting following Tasks in place
      *
      * @param index index, from which to remove a Task, should not be in list size bounds
      * @return true is such Task was found,
@@ -77,13 +118,8 @@ public class ArrayTaskList extends TaskList implements Cloneable, Iterable<Task>
         } else if (index >= this.size()) {
             throw new IllegalArgumentException("Invalid get index(exceeds active array size)");
         } else {
-            Task [] newTaskArray = new Task[this.taskArray.length - 1];
-            System.arraycopy(this.taskArray, 0, newTaskArray, 0, index);
-            if(index != lastTaskIndex) {
-                System.arraycopy(this.taskArray, index + 1, newTaskArray, index, this.size() - 1);
-            }
-            this.taskArray = newTaskArray.clone();
-            --lastTaskIndex;
+            System.arraycopy(this.taskArray, index + 1, this.taskArray, index, lastTaskIndex - index);
+            this.taskArray[lastTaskIndex--] = null;
             return true;
         }
     }
@@ -106,29 +142,75 @@ public class ArrayTaskList extends TaskList implements Cloneable, Iterable<Task>
         }
         for (int i = 0; i <= lastTaskIndex; i++) {
             if (this.taskArray[i].equals(task)) {
-                Task [] newTaskArray = new Task[this.taskArray.length - 1];
-                if (i == 0) {
-                    System.arraycopy(this.taskArray, 1, newTaskArray, 0, this.size() - 1);
-                    this.taskArray = newTaskArray.clone();
-                    --lastTaskIndex;
-                    return true;
-                } else if (i == lastTaskIndex) {
-                    System.arraycopy(this.taskArray, 0, newTaskArray, 0, this.size() - 1);
-                    --lastTaskIndex;
-                    this.taskArray = newTaskArray.clone();
-                    return true;
-                }
-                System.arraycopy(this.taskArray, 0, newTaskArray, 0, i);
-                System.arraycopy(this.taskArray, ++i, newTaskArray, --i, this.size() - 1);
-                --lastTaskIndex;
-                --i;
-                this.taskArray = newTaskArray.clone();
-                return true;
+                return remove(i);
             }
         }
         return false;
     }
 
+    /**
+     * Method for removing Tasks by several indexes at once, in one pass over array.
+     * Indexes are positions of Tasks before removal, their order does not matter, repeated indexes are ignored.
+     *
+     * @param indexes indexes of Tasks to remove, should be in list size bounds
+     * @return number of removed Tasks
+     * @throws IndexOutOfBoundsException if any of {@code indexes} was out of list bounds,
+     * no Tasks are removed in that case
+     */
+    public int removeIndices(int... indexes) throws IndexOutOfBoundsException {
+        int[] sortedIndexes = indexes.clone();
+        Arrays.sort(sortedIndexes);
+        if (sortedIndexes.length > 0 && (sortedIndexes[0] < 0 || sortedIndexes[sortedIndexes.length - 1] >= size())) {
+            int invalidIndex = sortedIndexes[0] < 0 ? sortedIndexes[0] : sortedIndexes[sortedIndexes.length - 1];
+            throw new IndexOutOfBoundsException("Index: " + invalidIndex + ", Size: " + size());
+        }
+        if (sortedIndexes.length == 0) {
+            return 0;
+        }
+        // Tasks between removed indexes are shifted left by segments, Tasks before the first index stay in place
+        int kept = sortedIndexes[0];
+        for (int next = 0; next < sortedIndexes.length; ) {
+            int removedIndex = sortedIndexes[next];
+            while (next < sortedIndexes.length && sortedIndexes[next] == removedIndex) {
+                next++;
+            }
+            int segmentEnd = next < sortedIndexes.length ? sortedIndexes[next] : size();
+            System.arraycopy(this.taskArray, removedIndex + 1, this.taskArray, kept, segmentEnd - removedIndex - 1);
+            kept += segmentEnd - removedIndex - 1;
+        }
+        return truncate(kept);
+    }
+
+    /**
+     * Method for removing all the Tasks, which satisfy {@code filter}, in one pass over array
+     *
+     * @param filter predicate, which returns true for Tasks to be removed
+     * @return true, if any Tasks were removed
+     */
+    public boolean removeIf(Predicate<? super Task> filter) {
+        Objects.requireNonNull(filter);
+        int kept = 0;
+        for (int i = 0; i <= lastTaskIndex; i++) {
+            Task task = this.taskArray[i];
+            if (!filter.test(task)) {
+                this.taskArray[kept++] = task;
+            }
+        }
+        return truncate(kept) > 0;
+    }
+
+    /**
+     * Drops Tasks after first {@code newSize} ones
+     *
+     * @return number of dropped Tasks
+     */
+    private int truncate(int newSize) {
+        int removed = size() - newSize;
+        Arrays.fill(this.taskArray, newSize, size(), null);
+        lastTaskIndex = newSize - 1;
+        return removed;
+    }
+
     /**
      * Method for getting Task by given index in array
      *
@@ -155,12 +237,12 @@ public class ArrayTaskList extends TaskList implements Cloneable, Iterable<Task>
      * @param from  time of notification start(excluded)
      * @param to     time of notification end(included)
      *
-     * @return list of suitable Tasks
+     * @return read-only view of suitable Tasks
      * @see Task
      * @see TaskList
      * @throws IllegalArgumentException if {@code from} time is not less than {@code to} time value
      */
-    public Iterable<Task> incoming(Date from, Date to) throws IllegalArgumentException {
+    public IncomingTasks incoming(Date from, Date to) throws IllegalArgumentException {
         return super.incoming(from,to);
     }
 
@@ -204,6 +286,72 @@ public class ArrayTaskList extends TaskList implements Cloneable, Iterable<Task>
         }
     }
 
+    /**
+     * Creates a Spliterator over the Tasks in array,
+     * which splits the array into halves of it's index range.
+     *
+     * @return a Spliterator over the Tasks in array
+     */
+    @Override
+    public Spliterator<Task> spliterator() {
+        return new ArrayTaskList.TaskSpliterator(0, -1);
+    }
+
+    private class TaskSpliterator implements Spliterator<Task> {
+        int index;
+        int fence; // -1 until used, then last index(excluded)
+
+        TaskSpliterator(int origin, int fence) {
+            this.index = origin;
+            this.fence = fence;
+        }
+
+        private int getFence() {
+            if (fence < 0) {
+                fence = size();
+            }
+            return fence;
+        }
+
+        public Spliterator<Task> trySplit() {
+            int hi = getFence();
+            int lo = index;
+            int mid = (lo + hi) >>> 1;
+            return (lo >= mid) ? null : new ArrayTaskList.TaskSpliterator(lo, index = mid);
+        }
+
+        public boolean tryAdvance(Consumer<? super Task> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            if (index < getFence()) {
+                action.accept(taskArray[index++]);
+                return true;
+            }
+            return false;
+        }
+
+        public void forEachRemaining(Consumer<? super Task> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            Task[] tasks = taskArray;
+            int hi = getFence();
+            for (int i = index; i < hi; i++) {
+                action.accept(tasks[i]);
+            }
+            index = hi;
+        }
+
+        public long estimateSize() {
+            return getFence() - index;
+        }
+
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -294,6 +442,8 @@ public class ArrayTaskList extends TaskList implements Cloneable, Iterable<Task>
      */
     @Override
     public ArrayTaskList clone() throws CloneNotSupportedException {
-        return (ArrayTaskList)super.clone();
+        ArrayTaskList clone = (ArrayTaskList)super.clone();
+        clone.taskArray = this.taskArray.clone();
+        return clone;
     }
 }
\ No newline at end of file
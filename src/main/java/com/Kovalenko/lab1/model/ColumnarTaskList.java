@@ -0,0 +1,532 @@
+package com.kovalenko.lab1.model;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * class ColumnarTaskList
+ * contains methods to work with list of Tasks, which keeps state of Tasks in columns of primitive arrays.
+ * <p>
+ * Instead of Task instances list holds array of start times, array of end times, array of repeat intervals,
+ * bit sets of active and repeated states and array of references to dictionary of titles,
+ * so each Task takes about 24 bytes and equal titles are kept only once.
+ * Scans like {@link #incoming(Date, Date)}, {@link #incomingIndexes(long, long)}
+ * and {@link #nextTimeAfterMillis(long)} go through the arrays directly and skip inactive Tasks by bit set.
+ * <p>
+ * Task instances are created on demand by {@link #getTask(int)} and iterators, so they are copies
+ * of Tasks in list: changes of returned Task are not seen by list, unless it is put back
+ * with {@link #set(int, Task)}.
+ * @see Task
+ *
+ * @author  Anton Kovalenko
+ * @version 1.0
+ * @since   10-17-2026
+ */
+public class ColumnarTaskList extends TaskList implements Cloneable, Iterable<Task>, Serializable {
+
+    public static final int DEFAULT_CAPACITY = 10;
+
+    private long[] starts;
+    private long[] ends;
+    private int[] intervals;
+    private int[] titleIds;
+    private BitSet active = new BitSet();
+    private BitSet repeated = new BitSet();
+    private ArrayList<String> titles = new ArrayList<>();
+    private HashMap<String, Integer> idsOfTitles = new HashMap<>();
+
+    {
+        lastTaskIndex = -1;
+    }
+
+    /**
+     * Default constructor for ColumnarTaskList class
+     */
+    public ColumnarTaskList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor for ColumnarTaskList class
+     *
+     * @param capacity number of Tasks, list can hold without growing
+     * @throws IllegalArgumentException if {@code capacity} is less than zero
+     */
+    public ColumnarTaskList(int capacity) throws IllegalArgumentException {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity should not be less than zero");
+        }
+        starts = new long[capacity];
+        ends = new long[capacity];
+        intervals = new int[capacity];
+        titleIds = new int[capacity];
+    }
+
+    /**
+     * Method for adding non-unique Tasks to the end of list, state of Task is copied into list
+     *
+     * @param task Task instance, to be added to list, should not be empty
+     * @see Task
+     * @throws IllegalArgumentException if one tries to add {@code emtyTask}
+     * or null value in list
+     */
+    @Override
+    public void add(Task task) throws IllegalArgumentException {
+        Task emptyTask = new Task();
+        if (task == null || task.equals(emptyTask)) {
+            throw new IllegalArgumentException("Adding empty tasks into list is not allowed");
+        }
+        ensureCapacity(size() + 1);
+        write(++lastTaskIndex, task);
+    }
+
+    /**
+     * Method for replacing Task by given index in list with state of {@code task}
+     *
+     * @param index index of Task in list, should be in list size bounds
+     * @param task  Task instance, which state is copied into list, should not be empty
+     * @throws IllegalArgumentException if {@code task} is {@code emtyTask} or null
+     * @throws IndexOutOfBoundsException if code {@code index} was out of list bounds
+     */
+    public void set(int index, Task task) throws IllegalArgumentException, IndexOutOfBoundsException {
+        Task emptyTask = new Task();
+        if (task == null || task.equals(emptyTask)) {
+            throw new IllegalArgumentException("Adding empty tasks into list is not allowed");
+        }
+        checkIndex(index);
+        write(index, task);
+    }
+
+    private void write(int index, Task task) {
+        starts[index] = task.startMillis();
+        ends[index] = task.endField();
+        intervals[index] = task.getRepeatInterval();
+        titleIds[index] = titleId(task.getTitle());
+        active.set(index, task.isActive());
+        repeated.set(index, task.isRepeated());
+    }
+
+    private int titleId(String title) {
+        Integer id = idsOfTitles.get(title);
+        if (id == null) {
+            id = titles.size();
+            titles.add(title);
+            idsOfTitles.put(title, id);
+        }
+        return id;
+    }
+
+    /**
+     * Method to increase capacity of columns, so list can hold at least {@code minCapacity} Tasks
+     * without growing
+     *
+     * @param minCapacity desired minimum capacity
+     */
+    public void ensureCapacity(int minCapacity) {
+        int currentCapacity = starts.length;
+        if (minCapacity > currentCapacity) {
+            int newCapacity = Math.max(currentCapacity + (currentCapacity >> 1) + 1, minCapacity);
+            starts = Arrays.copyOf(starts, newCapacity);
+            ends = Arrays.copyOf(ends, newCapacity);
+            intervals = Arrays.copyOf(intervals, newCapacity);
+            titleIds = Arrays.copyOf(titleIds, newCapacity);
+        }
+    }
+
+    /**
+     * Method for removing Tasks from list
+     * First Task from list to be equal to {@code task} will be removed,
+     * Tasks in list are compared by their columns, without creating Task instances
+     *
+     * @param task Task instance, to be removed from list, should not be empty
+     * @return true is such Task was found,
+     *         false if not
+     * @see Task
+     * @throws IllegalArgumentException if one tries to remove {@code emtyTask}
+     * or null value in list
+     */
+    @Override
+    public boolean remove(Task task) throws IllegalArgumentException {
+        Task emptyTask = new Task();
+        if (task == null || task.equals(emptyTask)) {
+            throw new IllegalArgumentException("Removing empty tasks from list is not allowed");
+        }
+        int index = indexOf(task);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Method for finding index of first Task in list, equal to {@code task}
+     *
+     * @param task Task instance to be found
+     * @return index of first equal Task, -1 if there is no such Task in list
+     */
+    public int indexOf(Task task) {
+        Integer id = idsOfTitles.get(task.getTitle());
+        if (id == null) {
+            return -1;
+        }
+        long start = task.startMillis();
+        for (int i = 0; i < size(); i++) {
+            if (starts[i] == start && titleIds[i] == id
+                    && ends[i] == task.endField()
+                    && intervals[i] == task.getRepeatInterval()
+                    && active.get(i) == task.isActive()
+                    && repeated.get(i) == task.isRepeated()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Method for removing Tasks from list by index, following Tasks are shifted in place
+     *
+     * @param index index, from which to remove a Task, should be in list size bounds
+     * @return true, as Task was removed
+     * @throws IndexOutOfBoundsException if code {@code index} was out of list bounds
+     */
+    public boolean remove(int index) throws IndexOutOfBoundsException {
+        checkIndex(index);
+        int moved = lastTaskIndex - index;
+        System.arraycopy(starts, index + 1, starts, index, moved);
+        System.arraycopy(ends, index + 1, ends, index, moved);
+        System.arraycopy(intervals, index + 1, intervals, index, moved);
+        System.arraycopy(titleIds, index + 1, titleIds, index, moved);
+        shiftLeft(active, index);
+        shiftLeft(repeated, index);
+        lastTaskIndex--;
+        return true;
+    }
+
+    /**
+     * Moves bits after {@code index} one position left, visiting only set bits
+     */
+    private void shiftLeft(BitSet bits, int index) {
+        BitSet tail = bits.get(index + 1, size());
+        bits.clear(index, size());
+        for (int i = tail.nextSetBit(0); i >= 0; i = tail.nextSetBit(i + 1)) {
+            bits.set(index + i);
+        }
+    }
+
+    private void checkIndex(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+    /**
+     * Method for getting Task by given index in list,
+     * new Task instance with state of Task in list is created each time
+     *
+     * @param index index of Task in list,
+     *              should be more than 0 and less than list size
+     * @return copy of Task in list by given index
+     * @see Task
+     * @throws IndexOutOfBoundsException if code {@code index} was out of list bounds
+     */
+    @Override
+    public Task getTask(int index) throws IndexOutOfBoundsException {
+        checkIndex(index);
+        return createTask(index);
+    }
+
+    private Task createTask(int index) {
+        return Task.of(titles.get(titleIds[index]), active.get(index), repeated.get(index),
+            starts[index], ends[index], intervals[index]);
+    }
+
+    /**
+     * Method for getting title of Task by given index in list without creating Task instance
+     *
+     * @param index index of Task in list
+     * @return title of Task
+     * @throws IndexOutOfBoundsException if code {@code index} was out of list bounds
+     */
+    public String getTitle(int index) throws IndexOutOfBoundsException {
+        checkIndex(index);
+        return titles.get(titleIds[index]);
+    }
+
+    /**
+     * Method for getting next time of notification of Task by given index in list without creating Task instance
+     *
+     * @param index index of Task in list
+     * @param time  time in milliseconds, after which to search next notification time
+     * @return next time of notification, {@link Task#NO_TIME} if there is no such time
+     * @throws IndexOutOfBoundsException if code {@code index} was out of list bounds
+     * @see Task#nextTimeAfterMillis(long)
+     */
+    public long nextTimeAfterMillis(int index, long time) throws IndexOutOfBoundsException, IllegalArgumentException {
+        checkIndex(index);
+        return nextTime(index, time);
+    }
+
+    private long nextTime(int index, long time) {
+        return Task.nextTimeAfterMillis(active.get(index), repeated.get(index),
+            starts[index], ends[index], intervals[index], time);
+    }
+
+    /**
+     * Method for getting the closest time of notification of all the Tasks in list after {@code time}
+     *
+     * @param time time in milliseconds, after which to search next notification time
+     * @return the closest notification time, {@link Task#NO_TIME} if no Task will be notified
+     * @throws IllegalArgumentException if {@code time} is less than zero
+     */
+    public long nextTimeAfterMillis(long time) throws IllegalArgumentException {
+        if (time < 0) {
+            throw new IllegalArgumentException("Time after which to search for next notification cannot be less than zero or null");
+        }
+        long closest = Task.NO_TIME;
+        for (int i = active.nextSetBit(0); i >= 0 && i < size(); i = active.nextSetBit(i + 1)) {
+            long next = nextTime(i, time);
+            if (next != Task.NO_TIME && (closest == Task.NO_TIME || next < closest)) {
+                closest = next;
+            }
+        }
+        return closest;
+    }
+
+    private boolean isIncoming(int index, long from, long to) {
+        return Tasks.isIncoming(repeated.get(index), starts[index], ends[index], intervals[index], from, to);
+    }
+
+    /**
+     * Method for getting indexes of Tasks, which are going to be notified between {@code from} and {@code to} times,
+     * Task instances are not created
+     *
+     * @param from time in milliseconds, from which to search for notification(excluded)
+     * @param to   time in milliseconds, to which to search for notification(included)
+     * @return indexes of incoming Tasks in ascending order
+     */
+    public int[] incomingIndexes(long from, long to) {
+        int[] indexes = new int[16];
+        int count = 0;
+        for (int i = active.nextSetBit(0); i >= 0 && i < size(); i = active.nextSetBit(i + 1)) {
+            if (isIncoming(i, from, to)) {
+                if (count == indexes.length) {
+                    indexes = Arrays.copyOf(indexes, count * 2);
+                }
+                indexes[count++] = i;
+            }
+        }
+        return Arrays.copyOf(indexes, count);
+    }
+
+    /**
+     * Method for counting Tasks, which are going to be notified between {@code from} and {@code to} times,
+     * Task instances are not created
+     *
+     * @param from time in milliseconds, from which to search for notification(excluded)
+     * @param to   time in milliseconds, to which to search for notification(included)
+     * @return number of incoming Tasks
+     */
+    public int countIncoming(long from, long to) {
+        int count = 0;
+        for (int i = active.nextSetBit(0); i >= 0 && i < size(); i = active.nextSetBit(i + 1)) {
+            if (isIncoming(i, from, to)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Method for getting Task by given notification start and end times.
+     * Columns are scanned while iterating through returned view, Task instances are created
+     * only for suitable Tasks.
+     *
+     * @param from  time of notification start(excluded)
+     * @param to     time of notification end(included)
+     *
+     * @return read-only view of suitable Tasks
+     * @see Task
+     * @see TaskList
+     */
+    @Override
+    public IncomingTasks incoming(Date from, Date to) {
+        long fromMillis = from.getTime();
+        long toMillis = to.getTime();
+        return new IncomingTasks(() -> new IncomingIter(fromMillis, toMillis), fromMillis, toMillis);
+    }
+
+    /**
+     * Iterator over active Tasks, which are incoming in (from, to] window
+     */
+    private class IncomingIter implements Iterator<Task> {
+        final long from;
+        final long to;
+        int next;
+
+        IncomingIter(long from, long to) {
+            this.from = from;
+            this.to = to;
+            this.next = find(0);
+        }
+
+        private int find(int index) {
+            for (int i = active.nextSetBit(index); i >= 0 && i < size(); i = active.nextSetBit(i + 1)) {
+                if (isIncoming(i, from, to)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        public boolean hasNext() {
+            return next >= 0;
+        }
+
+        public Task next() {
+            if (next < 0) {
+                throw new NoSuchElementException();
+            }
+            Task task = createTask(next);
+            next = find(next + 1);
+            return task;
+        }
+    }
+
+    /**
+     * Returns an iterator over the copies of Tasks in this list in proper sequence.
+     *
+     * @return an iterator over the elements in this list in proper sequence
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        return new ColumnarTaskList.Iter();
+    }
+
+    private class Iter implements Iterator<Task> {
+        int cursor;
+        int lastReturnedIndex = -1;
+        Iter() { }
+
+        public boolean hasNext() {
+            return cursor < size();
+        }
+
+        public Task next() {
+            int i = cursor;
+            if (i >= size()) {
+                throw new NoSuchElementException();
+            }
+            cursor = i + 1;
+            return createTask(lastReturnedIndex = i);
+        }
+
+        public void remove() {
+            if (lastReturnedIndex < 0)
+                throw new IllegalStateException();
+
+            ColumnarTaskList.this.remove(lastReturnedIndex);
+            cursor = lastReturnedIndex;
+            lastReturnedIndex = -1;
+        }
+    }
+
+    /**
+     * Creates a Spliterator over the copies of Tasks in list,
+     * which splits the list into halves of it's index range.
+     *
+     * @return a Spliterator over the Tasks in list
+     */
+    @Override
+    public Spliterator<Task> spliterator() {
+        return new ColumnarTaskList.TaskSpliterator(0, -1);
+    }
+
+    private class TaskSpliterator implements Spliterator<Task> {
+        int index;
+        int fence; // -1 until used, then last index(excluded)
+
+        TaskSpliterator(int origin, int fence) {
+            this.index = origin;
+            this.fence = fence;
+        }
+
+        private int getFence() {
+            if (fence < 0) {
+                fence = size();
+            }
+            return fence;
+        }
+
+        public Spliterator<Task> trySplit() {
+            int hi = getFence();
+            int lo = index;
+            int mid = (lo + hi) >>> 1;
+            return (lo >= mid) ? null : new ColumnarTaskList.TaskSpliterator(lo, index = mid);
+        }
+
+        public boolean tryAdvance(Consumer<? super Task> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            if (index < getFence()) {
+                action.accept(createTask(index++));
+                return true;
+            }
+            return false;
+        }
+
+        public void forEachRemaining(Consumer<? super Task> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            int hi = getFence();
+            for (int i = index; i < hi; i++) {
+                action.accept(createTask(i));
+            }
+            index = hi;
+        }
+
+        public long estimateSize() {
+            return getFence() - index;
+        }
+
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (Task task : this) {
+            joiner.add(String.valueOf(task));
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Creates and returns a copy of this list, columns and dictionary of titles are copied,
+     * so changes of copy are not seen by this list
+     *
+     * @return a clone of this instance.
+     * @throws CloneNotSupportedException if the object's class does not
+     *                                    support the {@code Cloneable} interface
+     * @see Cloneable
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public ColumnarTaskList clone() throws CloneNotSupportedException {
+        ColumnarTaskList clone = (ColumnarTaskList) super.clone();
+        clone.starts = starts.clone();
+        clone.ends = ends.clone();
+        clone.intervals = intervals.clone();
+        clone.titleIds = titleIds.clone();
+        clone.active = (BitSet) active.clone();
+        clone.repeated = (BitSet) repeated.clone();
+        clone.titles = (ArrayList<String>) titles.clone();
+        clone.idsOfTitles = (HashMap<String, Integer>) idsOfTitles.clone();
+        return clone;
+    }
+}
@@ -1,169 +0,0 @@
-package com.kovalenko.lab1.model;
-
-import java.io.Serializable;
-import java.util.HashMap;
-import java.util.Objects;
-
-/**
- * class FilledTaskList
- * contains representation for Not empty TaskList
- * and methods to work with list of Tasks
- *
- * @author Anton Kovalenko
- * @version 1.0
- * @see Task
- * @see TaskList
- * @since 11-4-2018
- */
-class FilledTaskList implements TaskListable, Serializable {
-
-    private Task first;
-    private TaskListable rest;
-
-    /**
-     * Constructor, creates FilledTaskList with {@code first} as element in it
-     * rest part {@code rest} is assigned with EmptyTaskList instance
-     *
-     * @param first Task, to be added as element
-     * @see EmptyTaskList
-     */
-    public FilledTaskList(Task first) {
-        this.first = first;
-        this.rest = EmptyTaskList.INSTANCE;
-    }
-
-    /**
-     * Constructor, creates FilledTaskList with {@code first} as element in it
-     * rest part {@code rest} is assigned with rest instance
-     *
-     * @param first Task, to be added as element
-     * @param rest  TaskList, to be added as rest part
-     * @see EmptyTaskList
-     */
-    public FilledTaskList(Task first, TaskListable rest) {
-        this.first = first;
-        this.rest = rest;
-    }
-
-    public Task getFirst() {
-        return first;
-    }
-
-    public TaskListable getRest() {
-        return rest;
-    }
-
-
-    public void setRest(TaskListable rest) {
-        this.rest = rest;
-    }
-
-    /**
-     * Indicates whether some other object is "equal to" this one.
-     *
-     * @param list the reference Task with which to compare.
-     * @return {@code true} if this object is the same as the task
-     * argument; {@code false} otherwise.
-     * @see #hashCode()
-     * @see HashMap
-     * @see Task
-     */
-    @Override
-    public boolean equals(Object list) {
-        if (list == null) {
-            return false;
-        }
-
-        if (this.getClass() != list.getClass()) {
-            return false;
-        } else {
-            FilledTaskList castedList = (FilledTaskList) list;
-            return (this.getFirst().equals(castedList.getFirst())) &&
-                       this.getRest().equals(castedList.getRest());
-        }
-    }
-
-    /**
-     * Returns a hash code value for the object. This method is
-     * supported for the benefit of hash tables such as those provided by
-     * {@link HashMap}.
-     *
-     * @return a hash code value for this object.
-     * @see Object#equals(Object)
-     * @see System#identityHashCode
-     */
-    @Override
-    public int hashCode() {
-        return Objects.hash(first.hashCode(), rest.hashCode());
-    }
-
-    @Override
-    public String toString() {
-        return first.toString() + "; " + rest.toString();
-    }
-
-    /**
-     * Creates and returns a copy of this object.  The precise meaning
-     * of "copy" may depend on the class of the object. The general
-     * intent is that, for any object {@code x}, the expression:
-     * <blockquote>
-     * <pre>
-     * x.clone() != x</pre></blockquote>
-     * will be true, and that the expression:
-     * <blockquote>
-     * <pre>
-     * x.clone().getClass() == x.getClass()</pre></blockquote>
-     * will be {@code true}, but these are not absolute requirements.
-     * While it is typically the case that:
-     * <blockquote>
-     * <pre>
-     * x.clone().equals(x)</pre></blockquote>
-     * will be {@code true}, this is not an absolute requirement.
-     * <p>
-     * By convention, the returned object should be obtained by calling
-     * {@code super.clone}.  If a class and all of its superclasses (except
-     * {@code Object}) obey this convention, it will be the case that
-     * {@code x.clone().getClass() == x.getClass()}.
-     * <p>
-     * By convention, the object returned by this method should be independent
-     * of this object (which is being cloned).  To achieve this independence,
-     * it may be necessary to modify one or more fields of the object returned
-     * by {@code super.clone} before returning it.  Typically, this means
-     * copying any mutable objects that comprise the internal "deep structure"
-     * of the object being cloned and replacing the references to these
-     * objects with references to the copies.  If a class contains only
-     * primitive fields or references to immutable objects, then it is usually
-     * the case that no fields in the object returned by {@code super.clone}
-     * need to be modified.
-     * <p>
-     * The method {@code clone} for class {@code Object} performs a
-     * specific cloning operation. First, if the class of this object does
-     * not implement the interface {@code Cloneable}, then a
-     * {@code CloneNotSupportedException} is thrown. Note that all arrays
-     * are considered to implement the interface {@code Cloneable} and that
-     * the return type of the {@code clone} method of an array type {@code T[]}
-     * is {@code T[]} where T is any reference or primitive type.
-     * Otherwise, this method creates a new instance of the class of this
-     * object and initializes all its fields with exactly the contents of
-     * the corresponding fields of this object, as if by assignment; the
-     * contents of the fields are not themselves cloned. Thus, this method
-     * performs a "shallow copy" of this object, not a "deep copy" operation.
-     * <p>
-     * The class {@code Object} does not itself implement the interface
-     * {@code Cloneable}, so calling the {@code clone} method on an object
-     * whose class is {@code Object} will result in throwing an
-     * exception at run time.
-     *
-     * @return a clone of this instance.
-     * @throws CloneNotSupportedException if the object's class does not
-     *                                    support the {@code Cloneable} interface. Subclasses
-     *                                    that override the {@code clone} method can also
-     *                                    throw this exception to indicate that an instance cannot
-     *                                    be cloned.
-     * @see Cloneable
-     */
-    @Override
-    public Object clone() throws CloneNotSupportedException {
-        return super.clone();
-    }
-}
@@ -0,0 +1,91 @@
+package com.kovalenko.lab1.model;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * class IncomingTasks
+ * read-only view of Tasks, which are going to be notified between two times.
+ * Tasks are filtered lazily, while the view is iterated,
+ * so the collection the view is created for is never changed or copied.
+ *
+ * @author Anton Kovalenko
+ * @version 1.0
+ * @see Task
+ * @see TaskList#incoming(java.util.Date, java.util.Date)
+ * @see Tasks#incoming(Iterable, java.util.Date, java.util.Date)
+ * @since 10-17-2026
+ */
+public class IncomingTasks implements Iterable<Task> {
+
+    private final Iterable<Task> tasks;
+    private final long from;
+    private final long to;
+
+    /**
+     * Constructor, creates view of Tasks from {@code tasks},
+     * which are going to be notified between {@code from} and {@code to} times
+     *
+     * @param tasks collection of Tasks to filter
+     * @param from  time in milliseconds, from which to search for notification(excluded)
+     * @param to    time in milliseconds, to which to search for notification(included)
+     */
+    public IncomingTasks(Iterable<Task> tasks, long from, long to) {
+        this.tasks = tasks;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Method to collect all the Tasks of the view into new list
+     *
+     * @return list of incoming Tasks, in order of iteration of the view
+     * @see ArrayTaskList
+     */
+    public ArrayTaskList toList() {
+        ArrayTaskList list = new ArrayTaskList();
+        for (Task task : this) {
+            list.add(task);
+        }
+        return list;
+    }
+
+    /**
+     * Returns an iterator over incoming Tasks,
+     * iterator does not support removal.
+     *
+     * @return an iterator over incoming Tasks
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        return new IncomingTasks.Iter(tasks.iterator());
+    }
+
+    private class Iter implements Iterator<Task> {
+        final Iterator<Task> source;
+        Task next;
+
+        Iter(Iterator<Task> source) {
+            this.source = source;
+        }
+
+        public boolean hasNext() {
+            while (next == null && source.hasNext()) {
+                Task task = source.next();
+                if (Tasks.isIncoming(task, from, to)) {
+                    next = task;
+                }
+            }
+            return next != null;
+        }
+
+        public Task next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Task taskToReturn = next;
+            next = null;
+            return taskToReturn;
+        }
+    }
+}
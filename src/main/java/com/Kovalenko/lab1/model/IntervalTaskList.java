@@ -0,0 +1,403 @@
+package com.kovalenko.lab1.model;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * class IntervalTaskList
+ * contains methods to work with list of Tasks, indexed by their [start, end] notification interval.
+ * Tasks are kept in a randomized search tree (treap) ordered by start time, each node of which
+ * also holds the greatest end time of it's subtree, so window queries like
+ * {@link #incoming(Date, Date)} visit only Tasks, which interval overlaps with the window.
+ * <p>
+ * Tasks are ordered by their start times(Tasks with equal start times are kept in order of addition),
+ * so {@link #getTask(int)} returns Tasks in that order.
+ * If time of Task contained in the list was changed, list should be notified
+ * with {@link #taskEdited(Task)} method to keep the index correct.
+ * @see Task
+ *
+ * @author  Anton Kovalenko
+ * @version 1.0
+ * @since   10-17-2026
+ */
+public class IntervalTaskList extends TaskList implements Iterable<Task>, Serializable {
+
+    private Node root;
+    private long addedTasksCount;
+    private Map<Task, List<Node>> nodesOfTask = new IdentityHashMap<>();
+
+    {
+        lastTaskIndex = -1;
+    }
+
+    /**
+     * Default constructor for IntervalTaskList class
+     */
+    public IntervalTaskList() {
+    }
+
+    private static class Node implements Serializable {
+        final Task task;
+        final long order;
+        final int priority;
+        long start;
+        long end;
+        long maxEnd;
+        int size;
+        Node left;
+        Node right;
+
+        Node(Task task, long order) {
+            this.task = task;
+            this.order = order;
+            this.priority = ThreadLocalRandom.current().nextInt();
+            this.size = 1;
+            updateTimes();
+        }
+
+        void updateTimes() {
+            this.start = task.startMillis();
+            this.end = task.endMillis();
+            this.maxEnd = end;
+        }
+
+        boolean isBefore(long start, long order) {
+            return this.start < start || (this.start == start && this.order < order);
+        }
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static Node update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        node.maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd > node.maxEnd) {
+            node.maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd > node.maxEnd) {
+            node.maxEnd = node.right.maxEnd;
+        }
+        return node;
+    }
+
+    /**
+     * Merges two trees, all the nodes of {@code left} should be before all the nodes of {@code right}
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        } else {
+            right.left = merge(left, right.left);
+            return update(right);
+        }
+    }
+
+    /**
+     * Inserts {@code nodeToInsert} into tree {@code node}
+     */
+    private static Node insert(Node node, Node nodeToInsert) {
+        if (node == null) {
+            return nodeToInsert;
+        }
+        if (nodeToInsert.priority > node.priority) {
+            Node[] parts = split(node, nodeToInsert.start, nodeToInsert.order);
+            nodeToInsert.left = parts[0];
+            nodeToInsert.right = parts[1];
+            return update(nodeToInsert);
+        }
+        if (nodeToInsert.isBefore(node.start, node.order)) {
+            node.left = insert(node.left, nodeToInsert);
+        } else {
+            node.right = insert(node.right, nodeToInsert);
+        }
+        return update(node);
+    }
+
+    /**
+     * Splits tree into nodes before specified key and nodes not before it
+     */
+    private static Node[] split(Node node, long start, long order) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (node.isBefore(start, order)) {
+            Node[] parts = split(node.right, start, order);
+            node.right = parts[0];
+            parts[0] = update(node);
+            return parts;
+        } else {
+            Node[] parts = split(node.left, start, order);
+            node.left = parts[1];
+            parts[1] = update(node);
+            return parts;
+        }
+    }
+
+    /**
+     * Erases {@code nodeToErase} from tree {@code node} using it's current key
+     */
+    private static Node erase(Node node, Node nodeToErase) {
+        if (node == null) {
+            return null;
+        }
+        if (node == nodeToErase) {
+            Node merged = merge(node.left, node.right);
+            node.left = null;
+            node.right = null;
+            return merged;
+        }
+        if (nodeToErase.isBefore(node.start, node.order)) {
+            node.left = erase(node.left, nodeToErase);
+        } else {
+            node.right = erase(node.right, nodeToErase);
+        }
+        return update(node);
+    }
+
+    private Node nodeAt(int index) {
+        Node node = root;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+    }
+
+    /**
+     * Method for adding non-unique Tasks to list
+     *
+     * @param task Task instance, to be added to list, should not be empty
+     * @see Task
+     * @throws IllegalArgumentException if one tries to add {@code emtyTask}
+     * or null value in list
+     */
+    @Override
+    public void add(Task task) throws IllegalArgumentException {
+        Task emptyTask = new Task();
+        if (task == null || task.equals(emptyTask)) {
+            throw new IllegalArgumentException("Adding empty tasks into list is not allowed");
+        }
+        Node node = new Node(task, addedTasksCount++);
+        root = insert(root, node);
+        nodesOfTask.computeIfAbsent(task, k -> new ArrayList<>(1)).add(node);
+        lastTaskIndex++;
+    }
+
+    /**
+     * Method for removing Tasks from list
+     * First Task from list to be equal to {@code task} will be removed
+     *
+     * @param task Task instance, to be removed from list, should not be empty
+     * @return true is such Task was found,
+     *         false if not
+     * @see Task
+     * @throws IllegalArgumentException if one tries to remove {@code emtyTask}
+     * or null value in list
+     */
+    @Override
+    public boolean remove(Task task) throws IllegalArgumentException {
+        Task emptyTask = new Task();
+        if (task == null || task.equals(emptyTask)) {
+            throw new IllegalArgumentException("Removing empty tasks from list is not allowed");
+        }
+        Node node = findEqual(root, task);
+        if (node == null) {
+            return false;
+        }
+        removeNode(node);
+        return true;
+    }
+
+    /**
+     * Method for removing Tasks from list by index
+     *
+     * @param index index, from which to remove a Task, should be in list size bounds
+     * @return true, as Task was removed
+     * @throws IndexOutOfBoundsException if code {@code index} was out of list bounds
+     */
+    public boolean remove(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        removeNode(nodeAt(index));
+        return true;
+    }
+
+    private void removeNode(Node node) {
+        root = erase(root, node);
+        List<Node> nodes = nodesOfTask.get(node.task);
+        nodes.remove(node);
+        if (nodes.isEmpty()) {
+            nodesOfTask.remove(node.task);
+        }
+        lastTaskIndex--;
+    }
+
+    /**
+     * Equal Tasks have same start times, so only nodes with start time of {@code task} are checked
+     */
+    private static Node findEqual(Node node, Task task) {
+        long start = task.startMillis();
+        while (node != null) {
+            if (node.start == start) {
+                if (node.task.equals(task)) {
+                    return node;
+                }
+                Node found = findEqual(node.left, task);
+                return found != null ? found : findEqual(node.right, task);
+            }
+            node = node.start > start ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * Method for getting Task by given index in list
+     *
+     * @param index index of Task in list,
+     *              should be more than 0 and less than list size
+     * @return Task in list by given index
+     * @see Task
+     * @throws IndexOutOfBoundsException if code {@code index} was out of list bounds
+     */
+    @Override
+    public Task getTask(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return nodeAt(index).task;
+    }
+
+    /**
+     * Method to update index of the list after times of {@code task} were changed
+     *
+     * @param task Task contained in the list, which was edited
+     */
+    @Override
+    public void taskEdited(Task task) {
+        List<Node> nodes = nodesOfTask.get(task);
+        if (nodes == null) {
+            return;
+        }
+        for (Node node : nodes) {
+            root = erase(root, node);
+            node.updateTimes();
+            node.size = 1;
+            root = insert(root, node);
+        }
+    }
+
+    /**
+     * Method for getting Task by given notification start and end times.
+     * Only Tasks, which [start, end] interval overlaps with ({@code from}, {@code to}] are checked
+     * while iterating through returned view, the list itself is not changed.
+     *
+     * @param from  time of notification start(excluded)
+     * @param to     time of notification end(included)
+     *
+     * @return read-only view of suitable Tasks, ordered by their start times
+     * @see Task
+     * @see TaskList
+     */
+    @Override
+    public IncomingTasks incoming(Date from, Date to) {
+        long fromMillis = from.getTime();
+        long toMillis = to.getTime();
+        return new IncomingTasks(() -> new OverlappingIter(fromMillis, toMillis), fromMillis, toMillis);
+    }
+
+    /**
+     * Iterator over Tasks of subtrees, which can overlap with (from, to] window, in order of start times
+     */
+    private class OverlappingIter implements Iterator<Task> {
+        final long from;
+        final long to;
+        final Deque<Node> stack = new ArrayDeque<>();
+
+        OverlappingIter(long from, long to) {
+            this.from = from;
+            this.to = to;
+            pushLeft(root);
+        }
+
+        private void pushLeft(Node node) {
+            while (node != null && node.maxEnd > from) {
+                stack.push(node);
+                node = node.left;
+            }
+        }
+
+        public boolean hasNext() {
+            return !stack.isEmpty() && stack.peek().start <= to;
+        }
+
+        public Task next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Node node = stack.pop();
+            pushLeft(node.right);
+            return node.task;
+        }
+    }
+
+    /**
+     * Returns an iterator over the elements in this list in order of their start times.
+     *
+     * @return an iterator over the elements in this list
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        return new IntervalTaskList.Iter();
+    }
+
+    private class Iter implements Iterator<Task> {
+        int cursor;
+        int lastReturnedIndex = -1;
+        Iter() { }
+
+        public boolean hasNext() {
+            return cursor < size();
+        }
+
+        public Task next() {
+            int i = cursor;
+            if (i >= size()) {
+                throw new NoSuchElementException();
+            }
+            cursor = i + 1;
+            return nodeAt(lastReturnedIndex = i).task;
+        }
+
+        public void remove() {
+            if (lastReturnedIndex < 0)
+                throw new IllegalStateException();
+
+            IntervalTaskList.this.remove(lastReturnedIndex);
+            cursor = lastReturnedIndex;
+            lastReturnedIndex = -1;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (Task task : this) {
+            joiner.add(String.valueOf(task));
+        }
+        return joiner.toString();
+    }
+}
@@ -2,10 +2,20 @@ package com.kovalenko.lab1.model;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * class LinkedTaskList
  * contains methods to work with list of Tasks
+ * <p>
+ * List is kept as unrolled linked list: Tasks are stored in blocks of at most 256 Tasks
+ * in order of their addition. Sizes of blocks are kept in Fenwick tree, so block of Task by index
+ * is found, and size of block is updated in O(log n). Removal of Task shifts Tasks only inside one block,
+ * emptied blocks are left in place, until most of the blocks' space is free, then blocks are compacted,
+ * so removal costs O(log n) amortized. Blocks are shared between list and it's copies by
+ * {@link #getRest()} and {@link #clone()}, and are copied on the first change. Tasks are added to the head of list,
+ * so the list is iterated from the last added Task to the first one,
+ * while {@link #getTask(int)} counts indexes from the first added Task.
  * @see Task
  *
  * @author  Anton Kovalenko
@@ -14,29 +24,41 @@ import java.util.*;
  */
 public class LinkedTaskList extends TaskList implements TaskListable, Cloneable, Iterable<Task>, Serializable {
 
-    private TaskListable value;
+    private static final int BLOCK_CAPACITY = 256;
+
+    private ArrayList<Block> blocks = new ArrayList<>();
+    private int[] sizesTree = new int[16]; // Fenwick tree over sizes of blocks, indexed from 1
 
     {
         lastTaskIndex = -1;
     }
 
+    private static final class Block implements Serializable {
+        final Task[] tasks = new Task[BLOCK_CAPACITY];
+        int size;
+        boolean shared; // block is used by several lists, so it should be copied before change
+
+        Block copy() {
+            Block copy = new Block();
+            System.arraycopy(tasks, 0, copy.tasks, 0, size);
+            copy.size = size;
+            return copy;
+        }
+    }
+
     /**
      * Default constructor, creates empty LinkedTaskList
-     *
-     * @see EmptyTaskList
      */
     public LinkedTaskList() {
-        this.value = EmptyTaskList.INSTANCE;
     }
 
     /**
      * Constructor, creates LinkedTaskList with {@code value} as element in it
      *
      * @param value Task, to be added as element
-     * @see FilledTaskList
      */
     public LinkedTaskList(Task value) {
-        this.value = new FilledTaskList(value);
+        add(value);
     }
 
     /**
@@ -44,33 +66,59 @@ public class LinkedTaskList extends TaskList implements TaskListable, Cloneable,
      * and {@code rest} as rest part of LinkedTaskList
      *
      * @param value Task, to be added as element
-     * @param rest  rest, rest part of List
-     * @see FilledTaskList
+     * @param rest  rest, rest part of List, which blocks of Tasks are shared until changed
      */
     public LinkedTaskList(Task value, LinkedTaskList rest) {
-        this.value = new FilledTaskList(value, rest.value);
-    }
-
-    private LinkedTaskList(TaskListable value) {
-        this.value = value;
+        shareBlocks(rest.blocks, rest.blocks.size());
+        lastTaskIndex = rest.lastTaskIndex;
+        add(value);
     }
 
     /**
      * Method for getting first Task in LinkedTaskList
      *
-     * @return value first Task in LinkedTaskList
+     * @return value first Task in LinkedTaskList, which is the last added one
+     * @throws NoSuchElementException if list is empty
      */
     public Task getFirst() {
-        return ((FilledTaskList) value).getFirst();
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return getTask(lastTaskIndex);
     }
 
     /**
      * Method for getting rest part of LinkedTaskList
      *
-     * @return value Task as rest part of LinkedTaskList
+     * @return copy of LinkedTaskList without it's first Task, which shares blocks of Tasks with this list,
+     * until one of them is changed, so only the block of the first Task is copied
+     * @throws NoSuchElementException if list is empty
      */
     public LinkedTaskList getRest() {
-        return new LinkedTaskList(((FilledTaskList) value).getRest());
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        int lastBlock = blockOf(lastTaskIndex);
+        LinkedTaskList rest = new LinkedTaskList();
+        rest.shareBlocks(blocks, lastBlock);
+        Block block = blocks.get(lastBlock).copy();
+        block.tasks[--block.size] = null;
+        rest.appendBlock(block);
+        rest.lastTaskIndex = lastTaskIndex - 1;
+        return rest;
+    }
+
+    /**
+     * Makes first {@code count} blocks of {@code source} blocks of this list, marking them as shared
+     */
+    private void shareBlocks(ArrayList<Block> source, int count) {
+        blocks = new ArrayList<>(Math.max(count, 10));
+        sizesTree = new int[Math.max(Integer.highestOneBit(count) * 2, 16)];
+        for (int b = 0; b < count; b++) {
+            Block block = source.get(b);
+            block.shared = true;
+            appendBlock(block);
+        }
     }
 
     /**
@@ -80,7 +128,7 @@ public class LinkedTaskList extends TaskList implements TaskListable, Cloneable,
      * false if not
      */
     public boolean isEmpty() {
-        return value == EmptyTaskList.INSTANCE;
+        return size() == 0;
     }
 
     /**
@@ -97,9 +145,18 @@ public class LinkedTaskList extends TaskList implements TaskListable, Cloneable,
         }
         if (this.getClass() != list.getClass()) {
             return false;
-        } else {
-            return this.value.equals(((LinkedTaskList) list).value);
         }
+        LinkedTaskList that = (LinkedTaskList) list;
+        if (this.size() != that.size()) {
+            return false;
+        }
+        Iterator<Task> thatIterator = that.iterator();
+        for (Task task : this) {
+            if (!task.equals(thatIterator.next())) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -113,7 +170,13 @@ public class LinkedTaskList extends TaskList implements TaskListable, Cloneable,
      */
     @Override
     public int hashCode() {
-        return Objects.hash(value.hashCode());
+        int hash = EmptyTaskList.INSTANCE.hashCode();
+        for (Block block : blocks) {
+            for (int i = 0; i < block.size; i++) {
+                hash = Objects.hash(block.tasks[i].hashCode(), hash);
+            }
+        }
+        return Objects.hash(hash);
     }
 
     /**
@@ -125,29 +188,21 @@ public class LinkedTaskList extends TaskList implements TaskListable, Cloneable,
      * @see Task
      */
     public int indexOf(Task task) {
-        int indexToReturn = -1;
         Task emptyTask = new Task();
         if (task == null || task.equals(emptyTask)) {
-            return indexToReturn;
+            return -1;
         }
-        int tempIndex = size() - 1;
-        Task taskInList = ((FilledTaskList) value).getFirst();
-        TaskListable restTasks = ((FilledTaskList) value).getRest();
-
-        for (int i = 0; i < size(); i++, tempIndex--) {
-            if (taskInList.equals(task)) {
-                indexToReturn = tempIndex;
-                break;
-            }
-
-            if (restTasks instanceof EmptyTaskList) {
-                break;
+        int start = size();
+        for (int b = blocks.size() - 1; b >= 0; b--) {
+            Block block = blocks.get(b);
+            start -= block.size;
+            for (int i = block.size - 1; i >= 0; i--) {
+                if (block.tasks[i].equals(task)) {
+                    return start + i;
+                }
             }
-            taskInList = ((FilledTaskList) restTasks).getFirst();
-            restTasks = ((FilledTaskList) restTasks).getRest();
-
         }
-        return indexToReturn;
+        return -1;
     }
 
     /**
@@ -162,7 +217,14 @@ public class LinkedTaskList extends TaskList implements TaskListable, Cloneable,
         if (task == null || task.equals(emptyTask)) {
             throw new IllegalArgumentException("Adding empty tasks into list is not allowed");
         }
-        value = new FilledTaskList(task, this.value);
+        int b = blocks.size() - 1;
+        if (b < 0 || blocks.get(b).size == BLOCK_CAPACITY) {
+            appendBlock(new Block());
+            b++;
+        }
+        Block last = writableBlock(b);
+        last.tasks[last.size++] = task;
+        addToSize(b, 1);
         lastTaskIndex++;
     }
 
@@ -179,99 +241,140 @@ public class LinkedTaskList extends TaskList implements TaskListable, Cloneable,
         if (task == null || task.equals(emptyTask)) {
             throw new IllegalArgumentException("Removing empty tasks from list is not allowed");
         }
-        boolean taskWasFound = false;
-        int indexOfRemovableTask = indexOf(task);
-        if (indexOfRemovableTask >= 0) {
-            taskWasFound = true;
-        } else {
-            return taskWasFound;
+        int index = indexOf(task);
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Method for removing Tasks from list by index
+     *
+     * @param index index of Task in list, the same as in {@link #getTask(int)}
+     * @return true, as Task was removed
+     * @throws IndexOutOfBoundsException if code {@code index} was out of list bounds
+     */
+    public boolean remove(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
         }
+        removeAt(index);
+        return true;
+    }
 
-        if (indexOfRemovableTask == 0) {
+    private void removeAt(int index) {
+        int b = blockOf(index);
+        Block block = writableBlock(b);
+        int i = index - startOf(b);
+        System.arraycopy(block.tasks, i + 1, block.tasks, i, block.size - i - 1);
+        block.tasks[--block.size] = null;
+        addToSize(b, -1);
+        lastTaskIndex--;
+        if ((long) blocks.size() * BLOCK_CAPACITY > 4L * (size() + BLOCK_CAPACITY)) {
+            compact();
+        }
+    }
 
-            if(lastTaskIndex == 0) {
-                this.value = EmptyTaskList.INSTANCE;
-                lastTaskIndex--;
-                return true;
-            }
+    /**
+     * Gets block by index to be changed, copying it, if it is shared with other lists
+     */
+    private Block writableBlock(int blockIndex) {
+        Block block = blocks.get(blockIndex);
+        if (block.shared) {
+            block = block.copy();
+            blocks.set(blockIndex, block);
+        }
+        return block;
+    }
 
-            TaskListable next = getTaskList(0);
-            if (next == EmptyTaskList.INSTANCE) {
-                return true;
-            }
-            ((FilledTaskList) next).setRest(EmptyTaskList.INSTANCE);
-            lastTaskIndex--;
-            return true;
-        } else if (indexOfRemovableTask == lastTaskIndex) {
-            TaskListable next = getTaskList(lastTaskIndex);
-            value = ((FilledTaskList) next).getRest();
-            lastTaskIndex--;
-            return true;
-        } else {
-            int nextIndex = indexOfRemovableTask + 1;
-            TaskListable next = getTaskList(nextIndex);
-            TaskListable current = getTaskList(indexOfRemovableTask);
-            if (current == EmptyTaskList.INSTANCE) {
-                return true;
+    /**
+     * Moves all the Tasks into full blocks, when less than a quarter of blocks' space is used
+     */
+    private void compact() {
+        ArrayList<Block> filledBlocks = new ArrayList<>();
+        Block current = null;
+        for (Block block : blocks) {
+            for (int i = 0; i < block.size; i++) {
+                if (current == null || current.size == BLOCK_CAPACITY) {
+                    current = new Block();
+                    filledBlocks.add(current);
+                }
+                current.tasks[current.size++] = block.tasks[i];
             }
-            ((FilledTaskList) next).setRest(((FilledTaskList) current).getRest());
-            lastTaskIndex--;
-            return true;
+        }
+        blocks = new ArrayList<>(filledBlocks.size());
+        sizesTree = new int[16];
+        for (Block block : filledBlocks) {
+            appendBlock(block);
         }
     }
 
     /**
-     * Method for getting Task by given index in list
-     *
-     * @param index index of Task in list
-     * @return Task in list by given index
-     * @see Task
+     * Adds block to the end of list of blocks and to the Fenwick tree
      */
-    @Override
-    public Task getTask(int index) throws IndexOutOfBoundsException {
-        if (size() == 0 || index < 0 || index + 1 > size()) {
-            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
-        } else {
-            index = index - size();
-            Task taskToReturn = ((FilledTaskList) value).getFirst();
-            TaskListable restTasks = ((FilledTaskList) value).getRest();
-            index++;
-            while (index < 0) {
-                taskToReturn = ((FilledTaskList) restTasks).getFirst();
-                restTasks = ((FilledTaskList) restTasks).getRest();
-                index++;
+    private void appendBlock(Block block) {
+        blocks.add(block);
+        int k = blocks.size();
+        if (k >= sizesTree.length) {
+            sizesTree = Arrays.copyOf(sizesTree, sizesTree.length * 2);
+        }
+        // node k keeps sum of sizes of blocks (k - lowbit(k), k]
+        sizesTree[k] = block.size + prefixSize(k - 1) - prefixSize(k - (k & -k));
+    }
+
+    private void addToSize(int blockIndex, int delta) {
+        for (int k = blockIndex + 1; k <= blocks.size(); k += k & -k) {
+            sizesTree[k] += delta;
+        }
+    }
+
+    /**
+     * Sums sizes of first {@code count} blocks
+     */
+    private int prefixSize(int count) {
+        int sum = 0;
+        for (int k = count; k > 0; k -= k & -k) {
+            sum += sizesTree[k];
+        }
+        return sum;
+    }
+
+    private int startOf(int blockIndex) {
+        return prefixSize(blockIndex);
+    }
+
+    /**
+     * Finds not empty block, which contains Task by {@code index}, descending the Fenwick tree
+     */
+    private int blockOf(int index) {
+        int count = 0; // number of blocks, which sizes sum is not greater than index
+        int rest = index;
+        for (int step = Integer.highestOneBit(blocks.size()); step > 0; step >>= 1) {
+            int k = count + step;
+            if (k <= blocks.size() && sizesTree[k] <= rest) {
+                count = k;
+                rest -= sizesTree[k];
             }
-            return taskToReturn;
         }
+        return count;
     }
 
     /**
-     * Method for getting TaskList by given index in list
+     * Method for getting Task by given index in list
      *
      * @param index index of Task in list
      * @return Task in list by given index
      * @see Task
      */
-    private TaskListable getTaskList(int index) {
-        if (this.isEmpty()) {
-            System.out.println("List is empty");
-            return EmptyTaskList.INSTANCE;
-        }
-        if (index < 0) {
-            System.out.println("Invalid index(less than zero)");
-            return EmptyTaskList.INSTANCE;
-        } else if (index > this.size()) {
-            System.out.println("Invalid index(exceeds list size)");
+    @Override
+    public Task getTask(int index) throws IndexOutOfBoundsException {
+        if (size() == 0 || index < 0 || index + 1 > size()) {
             throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
-        } else {
-            index = index - size() + 1;
-            TaskListable taskListToReturn = value;
-            while (index < 0) {
-                taskListToReturn = ((FilledTaskList) taskListToReturn).getRest();
-                index++;
-            }
-            return taskListToReturn;
         }
+        int b = blockOf(index);
+        return blocks.get(b).tasks[index - startOf(b)];
     }
 
     /**
@@ -279,17 +382,16 @@ public class LinkedTaskList extends TaskList implements TaskListable, Cloneable,
      *
      * @param from time of notification start(excluded)
      * @param to   time of notification end(included)
-     * @return array of suitable Tasks
+     * @return read-only view of suitable Tasks
      * @see Task
      */
-    public Iterable<Task> incoming(Date from, Date to) throws UnsupportedOperationException, IllegalArgumentException {
+    public IncomingTasks incoming(Date from, Date to) throws UnsupportedOperationException, IllegalArgumentException {
         return super.incoming(from,to);
     }
 
     /**
-     * Returns an iterator over the elements in this list in proper sequence.
-     *
-     * <p>The returned iterator is <a href="#fail-fast"><i>fail-fast</i></a>.
+     * Returns an iterator over the elements in this list in proper sequence,
+     * from the last added Task to the first one.
      *
      * @return an iterator over the elements in this list in proper sequence
      */
@@ -298,48 +400,138 @@ public class LinkedTaskList extends TaskList implements TaskListable, Cloneable,
     }
 
     private class Iter implements Iterator<Task> {
-        int cursor;
-        TaskListable lastReturnedElement;
-        TaskListable next = LinkedTaskList.this.value;
-        Task taskToReturn;
+        int blockIndex = blocks.size() - 1;
+        int cursor = blockIndex < 0 ? -1 : blocks.get(blockIndex).size - 1;
+        int nextIndex = size() - 1;
+        int lastReturnedIndex = -1;
         Iter() {}
 
-
         public boolean hasNext() {
-            return cursor < size();
+            return nextIndex >= 0;
         }
 
         public Task next() {
-            int i = cursor;
-            if(!hasNext()) {
+            if (!hasNext()) {
                 throw new NoSuchElementException();
             }
-                lastReturnedElement = next;
-                taskToReturn = ((FilledTaskList) lastReturnedElement).getFirst();
-                cursor = i + 1;
-                next = ((FilledTaskList) next).getRest();
-                return taskToReturn;
+            while (cursor < 0) {
+                cursor = blocks.get(--blockIndex).size - 1;
+            }
+            lastReturnedIndex = nextIndex--;
+            return blocks.get(blockIndex).tasks[cursor--];
         }
 
         public void remove() {
-            if (lastReturnedElement == null)
+            if (lastReturnedIndex < 0)
                 throw new IllegalStateException();
 
-            TaskListable lastNext = ((FilledTaskList)lastReturnedElement).getRest();
-            LinkedTaskList.this.remove(((FilledTaskList)lastReturnedElement).getFirst());
-
-            if(next == lastReturnedElement) {
-                next = lastNext;
+            // Tasks before removed one keep their indexes, so iterator finds it's place by index
+            removeAt(lastReturnedIndex);
+            if (nextIndex < 0) {
+                blockIndex = 0;
+                cursor = -1;
             } else {
-                cursor--;
-                lastReturnedElement = null;
+                blockIndex = blockOf(nextIndex);
+                cursor = nextIndex - startOf(blockIndex);
+            }
+            lastReturnedIndex = -1;
+        }
+    }
+
+    /**
+     * Creates a Spliterator over the Tasks in list,
+     * which splits the list into halves of it's index range.
+     *
+     * @return a Spliterator over the Tasks in list
+     */
+    @Override
+    public Spliterator<Task> spliterator() {
+        return new LinkedTaskList.TaskSpliterator(0, -1);
+    }
+
+    /**
+     * Spliterator over Tasks with indexes in [origin, fence), which are returned from the greatest index
+     */
+    private class TaskSpliterator implements Spliterator<Task> {
+        int origin;
+        int fence; // -1 until used, then the greatest index(excluded), which is not returned yet
+
+        TaskSpliterator(int origin, int fence) {
+            this.origin = origin;
+            this.fence = fence;
+        }
+
+        private int getFence() {
+            if (fence < 0) {
+                fence = size();
+            }
+            return fence;
+        }
+
+        public Spliterator<Task> trySplit() {
+            int hi = getFence();
+            int lo = origin;
+            int mid = (lo + hi) >>> 1;
+            if (lo >= mid) {
+                return null;
+            }
+            // Tasks with greater indexes are encountered first
+            TaskSpliterator prefix = new LinkedTaskList.TaskSpliterator(mid, hi);
+            fence = mid;
+            return prefix;
+        }
+
+        public boolean tryAdvance(Consumer<? super Task> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            if (getFence() > origin) {
+                action.accept(getTask(--fence));
+                return true;
             }
+            return false;
+        }
+
+        public void forEachRemaining(Consumer<? super Task> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            int hi = getFence();
+            if (hi <= origin) {
+                return;
+            }
+            int b = blockOf(hi - 1);
+            int start = startOf(b);
+            while (hi > origin) {
+                Block block = blocks.get(b);
+                int from = Math.max(origin - start, 0);
+                for (int i = hi - 1 - start; i >= from; i--) {
+                    action.accept(block.tasks[i]);
+                }
+                hi = start + from;
+                if (--b >= 0) {
+                    start -= blocks.get(b).size;
+                }
+            }
+            fence = origin;
+        }
+
+        public long estimateSize() {
+            return getFence() - origin;
+        }
+
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
         }
     }
 
     @Override
     public String toString() {
-        return "[" + value.toString();
+        StringBuilder builder = new StringBuilder("[");
+        for (Task task : this) {
+            builder.append(task).append("; ");
+        }
+        return builder.append("]").toString();
     }
 
     /**
@@ -404,15 +596,36 @@ public class LinkedTaskList extends TaskList implements TaskListable, Cloneable,
      */
     @Override
     public LinkedTaskList clone() throws CloneNotSupportedException {
-        return (LinkedTaskList)super.clone();
+        LinkedTaskList clone = (LinkedTaskList)super.clone();
+        // blocks are shared, both lists copy them on the first change
+        clone.shareBlocks(blocks, blocks.size());
+        return clone;
     }
 
+    /**
+     * Method to reverse order of Tasks in list
+     */
     public void reverse() {
-        LinkedTaskList reversed = new LinkedTaskList();
-        Iterator<Task> iter = this.iterator();
-        for(Task task : this) {
-            reversed.add(task);
+        for (int b = 0; b < blocks.size(); b++) {
+            writableBlock(b);
+        }
+        int leftBlock = 0;
+        int left = 0;
+        int rightBlock = blocks.size() - 1;
+        int right = rightBlock < 0 ? -1 : blocks.get(rightBlock).size - 1;
+        for (int count = size() / 2; count > 0; count--) {
+            while (left >= blocks.get(leftBlock).size) {
+                leftBlock++;
+                left = 0;
+            }
+            while (right < 0) {
+                right = blocks.get(--rightBlock).size - 1;
+            }
+            Task[] leftTasks = blocks.get(leftBlock).tasks;
+            Task[] rightTasks = blocks.get(rightBlock).tasks;
+            Task task = leftTasks[left];
+            leftTasks[left++] = rightTasks[right];
+            rightTasks[right--] = task;
         }
-        this.value = reversed.value;
     }
-}
\ No newline at end of file
+}
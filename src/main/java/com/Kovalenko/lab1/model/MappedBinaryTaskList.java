@@ -0,0 +1,500 @@
+package com.kovalenko.lab1.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.zip.CRC32;
+
+import static com.kovalenko.lab1.model.TaskIO.*;
+
+/**
+ * class MappedBinaryTaskList
+ * read-only list of Tasks of file in binary format of version 2, which is memory-mapped and decoded lazily.
+ * <p>
+ * Opening reads only header of file, so it takes the same time for any size of file.
+ * Records of Tasks have variable length, so positions of records are found by skipping through them
+ * without decoding, only once: position of every {@value #CHECKPOINT_INTERVAL}th record
+ * and position of every title are remembered, when they are reached first time.
+ * Record is decoded only when Task is accessed, and title is decoded only if it is needed,
+ * so scans like {@link #incoming(Date, Date)} and {@link #countIncoming(long, long)} don't create
+ * Tasks and titles for records, which are not suitable.
+ * <p>
+ * Checksum of file is not checked while opening, it can be checked with {@link #verify()}.
+ * List is not thread safe, as it's index is built while it is read.
+ * @see TaskIO#mapBinary(java.io.File)
+ * @see TaskIO#write(TaskList, java.io.OutputStream)
+ *
+ * @author  Anton Kovalenko
+ * @version 1.0
+ * @since   10-17-2026
+ */
+public class MappedBinaryTaskList extends TaskList implements Closeable, Iterable<Task> {
+
+    private static final int CHECKPOINT_INTERVAL = 64;
+    private static final int REGION_SHIFT = 30;
+    private static final long REGION_MASK = (1L << REGION_SHIFT) - 1;
+
+    private final transient FileChannel channel;
+    private final transient ByteBuffer[] regions;
+    private final long fileSize;
+    private final long firstRecordPosition;
+
+    private long[] checkpointPositions = new long[16];
+    private long[] checkpointStarts = new long[16];
+    private long[] titlePositions = new long[16];
+    private int titlesCount;
+    private int scannedCount;
+    private long scanPosition;
+    private long scanStart;
+
+    private MappedBinaryTaskList(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.fileSize = channel.size();
+        // file is mapped by regions, as one buffer can't be greater than 2 GB
+        int regionsCount = (int) ((fileSize + REGION_MASK) >>> REGION_SHIFT);
+        this.regions = new ByteBuffer[regionsCount];
+        for (int i = 0; i < regionsCount; i++) {
+            long regionStart = (long) i << REGION_SHIFT;
+            regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, regionStart,
+                Math.min(REGION_MASK + 1, fileSize - regionStart));
+        }
+        if (fileSize < 4 || readInt(0) != BINARY_MAGIC) {
+            throw new IOException("Only binary format of version " + BINARY_VERSION + " can be mapped");
+        }
+        Cursor cursor = new Cursor(4, 0);
+        long version = cursor.readVarLong();
+        if (version != BINARY_VERSION) {
+            throw new IOException("Unsupported version of binary format: " + version);
+        }
+        long count = cursor.readVarLong();
+        if (count > Integer.MAX_VALUE) {
+            throw new IOException("Invalid number of tasks: " + count);
+        }
+        this.lastTaskIndex = (int) count - 1;
+        this.firstRecordPosition = cursor.position;
+        this.scanPosition = firstRecordPosition;
+    }
+
+    /**
+     * Method to open file in binary format of version 2 as read-only list of Tasks
+     *
+     * @param file path of file
+     * @return list of Tasks of the file
+     * @throws IOException when file can't be read or is not in binary format of version 2
+     */
+    static MappedBinaryTaskList open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new MappedBinaryTaskList(channel);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Method to close file of the list, list should not be used after that
+     *
+     * @throws IOException when file can't be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private byte get(long position) {
+        if (position >= fileSize) {
+            throw new IllegalStateException("Binary file of tasks is truncated");
+        }
+        return regions[(int) (position >>> REGION_SHIFT)].get((int) (position & REGION_MASK));
+    }
+
+    private int readInt(long position) {
+        return (get(position) & 0xFF) << 24 | (get(position + 1) & 0xFF) << 16
+                   | (get(position + 2) & 0xFF) << 8 | (get(position + 3) & 0xFF);
+    }
+
+    /**
+     * Position in file with start time of previous record, by which records are read one after another
+     */
+    private class Cursor {
+        long position;
+        long previousStart;
+
+        Cursor(long position, long previousStart) {
+            this.position = position;
+            this.previousStart = previousStart;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = get(position++);
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("Malformed variable length number in binary file of tasks");
+        }
+
+        /**
+         * Reads length of title, which should fit into the rest of the file
+         */
+        int readTitleLength() {
+            long titleLength = readVarLong();
+            if (titleLength < 0 || titleLength > fileSize - position || titleLength > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Invalid title length in binary file of tasks: " + titleLength);
+            }
+            return (int) titleLength;
+        }
+
+        /**
+         * Reads the record, keeping decoded fields in {@code record}, title is only located
+         */
+        void readRecord(Record record) {
+            record.flags = get(position++) & 0xFF;
+            if ((record.flags & TITLE_REFERENCE_FLAG) != 0) {
+                long titleIndex = readVarLong();
+                if (titleIndex < 0 || titleIndex >= titlesCount) {
+                    throw new IllegalStateException("Invalid title reference in binary file of tasks: " + titleIndex);
+                }
+                record.titlePosition = titlePositions[(int) titleIndex];
+            } else {
+                record.titlePosition = position;
+                int titleLength = readTitleLength();
+                position += titleLength;
+            }
+            record.start = previousStart + unZigZag(readVarLong());
+            record.end = (record.flags & END_FLAG) != 0 ? record.start + unZigZag(readVarLong()) : record.start;
+            record.interval = (record.flags & INTERVAL_FLAG) != 0 ? (int) unZigZag(readVarLong()) : 0;
+            previousStart = record.start;
+        }
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Decoded fields of one record
+     */
+    private static class Record {
+        int flags;
+        long titlePosition;
+        long start;
+        long end;
+        int interval;
+
+        boolean isActive() {
+            return (flags & ACTIVE_FLAG) != 0;
+        }
+
+        boolean isRepeated() {
+            return (flags & REPEATED_FLAG) != 0;
+        }
+    }
+
+    /**
+     * Skips through records, which were not reached yet, up to record by {@code index},
+     * remembering positions of checkpoints and titles
+     */
+    private void scanTo(int index) {
+        if (index < scannedCount) {
+            return;
+        }
+        Cursor cursor = new Cursor(scanPosition, scanStart);
+        Record record = new Record();
+        while (scannedCount <= index) {
+            scanRecord(cursor, record);
+        }
+    }
+
+    /**
+     * Reads the first record, which was not reached yet, by {@code cursor}, which should stay at it
+     */
+    private void scanRecord(Cursor cursor, Record record) {
+        if (scannedCount % CHECKPOINT_INTERVAL == 0) {
+            int checkpoint = scannedCount / CHECKPOINT_INTERVAL;
+            if (checkpoint == checkpointPositions.length) {
+                checkpointPositions = Arrays.copyOf(checkpointPositions, checkpoint * 2);
+                checkpointStarts = Arrays.copyOf(checkpointStarts, checkpoint * 2);
+            }
+            checkpointPositions[checkpoint] = cursor.position;
+            checkpointStarts[checkpoint] = cursor.previousStart;
+        }
+        long recordPosition = cursor.position;
+        cursor.readRecord(record);
+        if ((record.flags & TITLE_REFERENCE_FLAG) == 0) {
+            if (titlesCount == titlePositions.length) {
+                titlePositions = Arrays.copyOf(titlePositions, titlesCount * 2);
+            }
+            titlePositions[titlesCount++] = recordPosition + 1;
+        }
+        scannedCount++;
+        scanPosition = cursor.position;
+        scanStart = cursor.previousStart;
+    }
+
+    /**
+     * Creates cursor at record by {@code index}, starting from the closest checkpoint before it
+     */
+    private Cursor cursorAt(int index) {
+        scanTo(index);
+        int checkpoint = index / CHECKPOINT_INTERVAL;
+        Cursor cursor = new Cursor(checkpointPositions[checkpoint], checkpointStarts[checkpoint]);
+        Record record = new Record();
+        for (int i = checkpoint * CHECKPOINT_INTERVAL; i < index; i++) {
+            cursor.readRecord(record);
+        }
+        return cursor;
+    }
+
+    private String readTitle(long titlePosition) {
+        Cursor cursor = new Cursor(titlePosition, 0);
+        byte[] title = new byte[cursor.readTitleLength()];
+        for (int i = 0; i < title.length; i++) {
+            title[i] = get(cursor.position + i);
+        }
+        return new String(title, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Creates Task of the record, title is checked by {@link Task#setTitle(String)},
+     * as {@link TaskIO#read(TaskList, java.io.InputStream)} does it
+     */
+    private Task createTask(Record record) {
+        Task task = Task.of(null, record.isActive(), record.isRepeated(),
+            record.start, record.end, record.interval);
+        try {
+            task.setTitle(readTitle(record.titlePosition));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalStateException("Invalid title in binary file of tasks", ex);
+        }
+        return task;
+    }
+
+    private void checkIndex(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+    /**
+     * Method for getting Task by given index in list,
+     * record of Task is decoded each time, so new Task instance is returned
+     *
+     * @param index index of Task in list,
+     *              should be more than 0 and less than list size
+     * @return Task in list by given index
+     * @see Task
+     * @throws IndexOutOfBoundsException if code {@code index} was out of list bounds
+     */
+    @Override
+    public Task getTask(int index) throws IndexOutOfBoundsException {
+        checkIndex(index);
+        Record record = new Record();
+        cursorAt(index).readRecord(record);
+        return createTask(record);
+    }
+
+    /**
+     * Method for getting title of Task by given index in list, title is checked in the same way, as by {@link #getTask(int)}
+     *
+     * @param index index of Task in list
+     * @return title of Task
+     * @throws IndexOutOfBoundsException if code {@code index} was out of list bounds
+     */
+    public String getTitle(int index) throws IndexOutOfBoundsException {
+        checkIndex(index);
+        Record record = new Record();
+        cursorAt(index).readRecord(record);
+        return createTask(record).getTitle();
+    }
+
+    /**
+     * List of file can't be changed
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void add(Task task) {
+        throw new UnsupportedOperationException("Mapped file of tasks can't be changed");
+    }
+
+    /**
+     * List of file can't be changed
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean remove(Task task) {
+        throw new UnsupportedOperationException("Mapped file of tasks can't be changed");
+    }
+
+    /**
+     * Method to check checksum of the file, all the records are read
+     *
+     * @return true, if checksum of file is correct, false if file is corrupted
+     */
+    public boolean verify() {
+        if (size() > 0) {
+            try {
+                scanTo(size() - 1);
+            } catch (IllegalStateException ex) {
+                return false;
+            }
+        }
+        long end = size() > 0 ? scanPosition : firstRecordPosition;
+        if (end + 4 > fileSize) {
+            return false;
+        }
+        CRC32 checksum = new CRC32();
+        for (long position = 0; position < end; ) {
+            ByteBuffer region = regions[(int) (position >>> REGION_SHIFT)].duplicate();
+            int regionPosition = (int) (position & REGION_MASK);
+            int length = (int) Math.min(region.capacity() - regionPosition, end - position);
+            ((Buffer) region).position(regionPosition);
+            ((Buffer) region).limit(regionPosition + length);
+            checksum.update(region);
+            position += length;
+        }
+        return readInt(end) == (int) checksum.getValue();
+    }
+
+    /**
+     * Method for counting Tasks, which are going to be notified between {@code from} and {@code to} times,
+     * titles are not decoded and Task instances are not created
+     *
+     * @param from time in milliseconds, from which to search for notification(excluded)
+     * @param to   time in milliseconds, to which to search for notification(included)
+     * @return number of incoming Tasks
+     */
+    public int countIncoming(long from, long to) {
+        int count = 0;
+        if (size() == 0) {
+            return count;
+        }
+        Cursor cursor = cursorAt(0);
+        Record record = new Record();
+        for (int i = 0; i < size(); i++) {
+            readNext(cursor, record, i);
+            if (isIncoming(record, from, to)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Reads record by {@code index}, which cursor stays at, building index of the list on the way,
+     * records should be read one after another from the first one
+     */
+    private void readNext(Cursor cursor, Record record, int index) {
+        if (index == scannedCount) {
+            scanRecord(cursor, record);
+        } else {
+            cursor.readRecord(record);
+        }
+    }
+
+    private static boolean isIncoming(Record record, long from, long to) {
+        return record.isActive()
+                   && Tasks.isIncoming(record.isRepeated(), record.start, record.end, record.interval, from, to);
+    }
+
+    /**
+     * Method for getting Task by given notification start and end times.
+     * Records are decoded while iterating through returned view, titles are decoded
+     * and Task instances are created only for suitable Tasks.
+     *
+     * @param from  time of notification start(excluded)
+     * @param to     time of notification end(included)
+     *
+     * @return read-only view of suitable Tasks
+     * @see Task
+     * @see TaskList
+     */
+    @Override
+    public IncomingTasks incoming(Date from, Date to) {
+        long fromMillis = from.getTime();
+        long toMillis = to.getTime();
+        return new IncomingTasks(() -> new Iter(fromMillis, toMillis), fromMillis, toMillis);
+    }
+
+    /**
+     * Returns an iterator over the Tasks in this list in proper sequence,
+     * iterator does not support removal.
+     *
+     * @return an iterator over the elements in this list in proper sequence
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        return new MappedBinaryTaskList.Iter(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Iterator over records one after another, which returns only Tasks incoming in (from, to] window,
+     * or all the Tasks for the widest window
+     */
+    private class Iter implements Iterator<Task> {
+        final long from;
+        final long to;
+        final Cursor cursor;
+        final Record record = new Record();
+        int cursorIndex;
+        Task next;
+
+        Iter(long from, long to) {
+            this.from = from;
+            this.to = to;
+            this.cursor = size() > 0 ? cursorAt(0) : null;
+        }
+
+        public boolean hasNext() {
+            while (next == null && cursorIndex < size()) {
+                readNext(cursor, record, cursorIndex++);
+                if (from == Long.MIN_VALUE || isIncoming(record, from, to)) {
+                    next = createTask(record);
+                }
+            }
+            return next != null;
+        }
+
+        public Task next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Task taskToReturn = next;
+            next = null;
+            return taskToReturn;
+        }
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        throw new NotSerializableException("Mapped file of tasks can't be serialized, copy it to another list");
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (Task task : this) {
+            if (builder.length() > 1) {
+                builder.append(", ");
+            }
+            builder.append(task);
+        }
+        return builder.append("]").toString();
+    }
+}
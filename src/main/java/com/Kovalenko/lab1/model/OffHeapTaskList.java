@@ -0,0 +1,622 @@
+package com.kovalenko.lab1.model;
+
+import java.io.*;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * class OffHeapTaskList
+ * contains methods to work with list of Tasks, which keeps state of Tasks outside of Java heap.
+ * <p>
+ * Each Task is kept as fixed-width record of {@link #RECORD_SIZE} bytes in a direct {@link ByteBuffer}:
+ * start time, end time, repeat interval, offset and length of title and flags of active and repeated states.
+ * Titles are kept in UTF-8 in another buffer, which is only appended to, so space of titles
+ * of removed Tasks is not reused. Heap holds only the list object itself, however many Tasks are in list,
+ * so big lists do not make garbage collection pauses longer.
+ * <p>
+ * List created by {@link #map(Path)} keeps both buffers in memory-mapped files, so it is saved by
+ * operating system while being changed and is opened again instantly, without reading Tasks one by one.
+ * <p>
+ * Task instances are created on demand by {@link #getTask(int)} and iterators, so they are copies
+ * of Tasks in list: changes of returned Task are not seen by list, unless it is put back
+ * with {@link #set(int, Task)}.
+ * @see Task
+ * @see ColumnarTaskList
+ *
+ * @author  Anton Kovalenko
+ * @version 1.0
+ * @since   10-17-2026
+ */
+public class OffHeapTaskList extends TaskList implements Closeable, Iterable<Task>, Serializable {
+
+    /**
+     * Size of record of one Task in bytes
+     */
+    public static final int RECORD_SIZE = 32;
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final int MAGIC = 0x4C315448; // "L1TH"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int SIZE_POSITION = 8;
+    private static final int TITLES_LENGTH_POSITION = 12;
+
+    private static final int START = 0;
+    private static final int END = 8;
+    private static final int INTERVAL = 16;
+    private static final int TITLE_OFFSET = 20;
+    private static final int TITLE_LENGTH = 24;
+    private static final int FLAGS = 28;
+    private static final int ACTIVE_FLAG = 1;
+    private static final int REPEATED_FLAG = 2;
+
+    private transient ByteBuffer records;
+    private transient ByteBuffer titles;
+    private transient int titlesLength;
+    private transient FileChannel recordsChannel;
+    private transient FileChannel titlesChannel;
+
+    {
+        lastTaskIndex = -1;
+    }
+
+    /**
+     * Default constructor for OffHeapTaskList class, creates list in direct buffers
+     */
+    public OffHeapTaskList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor for OffHeapTaskList class, creates list in direct buffers
+     *
+     * @param capacity number of Tasks, list can hold without growing
+     * @throws IllegalArgumentException if {@code capacity} is less than zero or too big for one buffer
+     */
+    public OffHeapTaskList(int capacity) throws IllegalArgumentException {
+        if (capacity < 0 || capacity > (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE) {
+            throw new IllegalArgumentException("Capacity should not be less than zero or greater than "
+                                                   + (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE);
+        }
+        records = ByteBuffer.allocateDirect(HEADER_SIZE + capacity * RECORD_SIZE);
+        titles = ByteBuffer.allocateDirect(Math.max(capacity * 16, 64));
+        writeHeader();
+    }
+
+    private OffHeapTaskList(FileChannel recordsChannel, FileChannel titlesChannel) throws IOException {
+        this.recordsChannel = recordsChannel;
+        this.titlesChannel = titlesChannel;
+        if (recordsChannel.size() == 0) {
+            records = recordsChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + DEFAULT_CAPACITY * RECORD_SIZE);
+            titles = titlesChannel.map(FileChannel.MapMode.READ_WRITE, 0, DEFAULT_CAPACITY * 16);
+            writeHeader();
+            return;
+        }
+        records = recordsChannel.map(FileChannel.MapMode.READ_WRITE, 0, recordsChannel.size());
+        titles = titlesChannel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(titlesChannel.size(), 64));
+        if (records.capacity() < HEADER_SIZE || records.getInt(0) != MAGIC) {
+            throw new IOException("File is not a list of tasks");
+        }
+        if (records.getInt(4) != VERSION) {
+            throw new IOException("Unsupported version of list of tasks: " + records.getInt(4));
+        }
+        int size = records.getInt(SIZE_POSITION);
+        titlesLength = records.getInt(TITLES_LENGTH_POSITION);
+        if (size < 0 || HEADER_SIZE + (long) size * RECORD_SIZE > records.capacity()
+                || titlesLength < 0 || titlesLength > titles.capacity()) {
+            throw new IOException("List of tasks is corrupted");
+        }
+        lastTaskIndex = size - 1;
+    }
+
+    /**
+     * Method to open list of Tasks, kept in memory-mapped {@code file}, or to create it, if file does not exist.
+     * Titles are kept in another file with the same name and ".titles" extension added.
+     * Opening takes the same time for any size of list, as Tasks are not read, until they are needed.
+     *
+     * @param file path of file with records of Tasks
+     * @return list of Tasks kept in the file
+     * @throws IOException if file can't be opened or is not a list of tasks
+     * @see #force()
+     * @see #close()
+     */
+    public static OffHeapTaskList map(Path file) throws IOException {
+        FileChannel recordsChannel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            FileChannel titlesChannel = FileChannel.open(Paths.get(file + ".titles"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                return new OffHeapTaskList(recordsChannel, titlesChannel);
+            } catch (IOException | RuntimeException ex) {
+                titlesChannel.close();
+                throw ex;
+            }
+        } catch (IOException | RuntimeException ex) {
+            recordsChannel.close();
+            throw ex;
+        }
+    }
+
+    private void writeHeader() {
+        records.putInt(0, MAGIC);
+        records.putInt(4, VERSION);
+        records.putInt(SIZE_POSITION, size());
+        records.putInt(TITLES_LENGTH_POSITION, titlesLength);
+    }
+
+    /**
+     * Method to check, if list is kept in memory-mapped file
+     *
+     * @return true, if list was opened by {@link #map(Path)}
+     */
+    public boolean isMapped() {
+        return recordsChannel != null;
+    }
+
+    /**
+     * Method to write changes of memory-mapped list to it's files,
+     * does nothing for list in direct buffers
+     */
+    public void force() {
+        if (isMapped()) {
+            ((MappedByteBuffer) records).force();
+            ((MappedByteBuffer) titles).force();
+        }
+    }
+
+    /**
+     * Method to write changes of memory-mapped list to it's files and close them,
+     * list should not be used after that. Does nothing for list in direct buffers.
+     *
+     * @throws IOException if files can't be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (isMapped()) {
+            force();
+            try {
+                recordsChannel.close();
+            } finally {
+                titlesChannel.close();
+            }
+        }
+    }
+
+    private static int position(int index) {
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+
+    /**
+     * Method to increase capacity of records, so list can hold at least {@code minCapacity} Tasks
+     * without growing
+     *
+     * @param minCapacity desired minimum capacity
+     * @throws IllegalStateException if records of {@code minCapacity} Tasks don't fit into one buffer
+     */
+    public void ensureCapacity(int minCapacity) throws IllegalStateException {
+        long required = HEADER_SIZE + (long) minCapacity * RECORD_SIZE;
+        if (required > records.capacity()) {
+            if (required > Integer.MAX_VALUE) {
+                throw new IllegalStateException("List of tasks can't hold more than "
+                                                    + (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE + " tasks");
+            }
+            records = grow(records, recordsChannel, (int) required, position(size()));
+        }
+    }
+
+    /**
+     * Creates buffer of at least {@code minCapacity} bytes with the same first {@code used} bytes as {@code buffer},
+     * memory-mapped buffers are mapped again with bigger size of file
+     */
+    private static ByteBuffer grow(ByteBuffer buffer, FileChannel channel, int minCapacity, int used) {
+        long newCapacity = Math.min(Math.max(buffer.capacity() + ((long) buffer.capacity() >> 1) + 1, minCapacity),
+            Integer.MAX_VALUE);
+        if (channel != null) {
+            try {
+                return channel.map(FileChannel.MapMode.READ_WRITE, 0, newCapacity);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Can't grow file of list of tasks", ex);
+            }
+        }
+        ByteBuffer grown = ByteBuffer.allocateDirect((int) newCapacity);
+        ByteBuffer source = buffer.duplicate();
+        ((Buffer) source).limit(used);
+        grown.put(source);
+        ((Buffer) grown).clear();
+        return grown;
+    }
+
+    /**
+     * Method for adding non-unique Tasks to the end of list, state of Task is copied into list
+     *
+     * @param task Task instance, to be added to list, should not be empty
+     * @see Task
+     * @throws IllegalArgumentException if one tries to add {@code emtyTask}
+     * or null value in list
+     */
+    @Override
+    public void add(Task task) throws IllegalArgumentException {
+        Task emptyTask = new Task();
+        if (task == null || task.equals(emptyTask)) {
+            throw new IllegalArgumentException("Adding empty tasks into list is not allowed");
+        }
+        ensureCapacity(size() + 1);
+        write(size(), task);
+        records.putInt(SIZE_POSITION, ++lastTaskIndex + 1);
+    }
+
+    /**
+     * Method for replacing Task by given index in list with state of {@code task}
+     *
+     * @param index index of Task in list, should be in list size bounds
+     * @param task  Task instance, which state is copied into list, should not be empty
+     * @throws IllegalArgumentException if {@code task} is {@code emtyTask} or null
+     * @throws IndexOutOfBoundsException if code {@code index} was out of list bounds
+     */
+    public void set(int index, Task task) throws IllegalArgumentException, IndexOutOfBoundsException {
+        Task emptyTask = new Task();
+        if (task == null || task.equals(emptyTask)) {
+            throw new IllegalArgumentException("Adding empty tasks into list is not allowed");
+        }
+        checkIndex(index);
+        write(index, task);
+    }
+
+    private void write(int index, Task task) {
+        int position = position(index);
+        byte[] title = task.getTitle().getBytes(StandardCharsets.UTF_8);
+        if (index > 0 && titleEquals(position(index - 1), title)) {
+            // Tasks with the same title often go one after another, their title is kept once
+            records.putInt(position + TITLE_OFFSET, records.getInt(position(index - 1) + TITLE_OFFSET));
+            records.putInt(position + TITLE_LENGTH, title.length);
+        } else {
+            if ((long) titlesLength + title.length > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Titles of list of tasks don't fit into one buffer");
+            }
+            if (titlesLength + title.length > titles.capacity()) {
+                titles = grow(titles, titlesChannel, titlesLength + title.length, titlesLength);
+            }
+            ByteBuffer target = titles.duplicate();
+            ((Buffer) target).position(titlesLength);
+            target.put(title);
+            records.putInt(position + TITLE_OFFSET, titlesLength);
+            records.putInt(position + TITLE_LENGTH, title.length);
+            titlesLength += title.length;
+            records.putInt(TITLES_LENGTH_POSITION, titlesLength);
+        }
+        records.putLong(position + START, task.startMillis());
+        records.putLong(position + END, task.endField());
+        records.putInt(position + INTERVAL, task.getRepeatInterval());
+        records.putInt(position + FLAGS, (task.isActive() ? ACTIVE_FLAG : 0) | (task.isRepeated() ? REPEATED_FLAG : 0));
+    }
+
+    private String readTitle(int position) {
+        byte[] title = new byte[records.getInt(position + TITLE_LENGTH)];
+        ByteBuffer source = titles.duplicate();
+        ((Buffer) source).position(records.getInt(position + TITLE_OFFSET));
+        source.get(title);
+        return new String(title, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Method for removing Tasks from list
+     * First Task from list to be equal to {@code task} will be removed,
+     * Tasks in list are compared by their records, without creating Task instances
+     *
+     * @param task Task instance, to be removed from list, should not be empty
+     * @return true is such Task was found,
+     *         false if not
+     * @see Task
+     * @throws IllegalArgumentException if one tries to remove {@code emtyTask}
+     * or null value in list
+     */
+    @Override
+    public boolean remove(Task task) throws IllegalArgumentException {
+        Task emptyTask = new Task();
+        if (task == null || task.equals(emptyTask)) {
+            throw new IllegalArgumentException("Removing empty tasks from list is not allowed");
+        }
+        int index = indexOf(task);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Method for finding index of first Task in list, equal to {@code task}
+     *
+     * @param task Task instance to be found
+     * @return index of first equal Task, -1 if there is no such Task in list
+     */
+    public int indexOf(Task task) {
+        byte[] title = task.getTitle().getBytes(StandardCharsets.UTF_8);
+        int flags = (task.isActive() ? ACTIVE_FLAG : 0) | (task.isRepeated() ? REPEATED_FLAG : 0);
+        for (int i = 0; i < size(); i++) {
+            int position = position(i);
+            if (records.getLong(position + START) == task.startMillis()
+                    && records.getLong(position + END) == task.endField()
+                    && records.getInt(position + INTERVAL) == task.getRepeatInterval()
+                    && records.getInt(position + FLAGS) == flags
+                    && titleEquals(position, title)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean titleEquals(int position, byte[] title) {
+        if (records.getInt(position + TITLE_LENGTH) != title.length) {
+            return false;
+        }
+        int offset = records.getInt(position + TITLE_OFFSET);
+        for (int i = 0; i < title.length; i++) {
+            if (titles.get(offset + i) != title[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Method for removing Tasks from list by index, records of following Tasks are shifted in place
+     *
+     * @param index index, from which to remove a Task, should be in list size bounds
+     * @return true, as Task was removed
+     * @throws IndexOutOfBoundsException if code {@code index} was out of list bounds
+     */
+    public boolean remove(int index) throws IndexOutOfBoundsException {
+        checkIndex(index);
+        ByteBuffer source = records.duplicate();
+        ((Buffer) source).limit(position(size()));
+        ((Buffer) source).position(position(index + 1));
+        ByteBuffer target = records.duplicate();
+        ((Buffer) target).position(position(index));
+        target.put(source);
+        records.putInt(SIZE_POSITION, lastTaskIndex--);
+        return true;
+    }
+
+    private void checkIndex(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+    /**
+     * Method for getting Task by given index in list,
+     * new Task instance with state of Task in list is created each time
+     *
+     * @param index index of Task in list,
+     *              should be more than 0 and less than list size
+     * @return copy of Task in list by given index
+     * @see Task
+     * @throws IndexOutOfBoundsException if code {@code index} was out of list bounds
+     */
+    @Override
+    public Task getTask(int index) throws IndexOutOfBoundsException {
+        checkIndex(index);
+        return createTask(index);
+    }
+
+    private Task createTask(int index) {
+        int position = position(index);
+        int flags = records.getInt(position + FLAGS);
+        return Task.of(readTitle(position), (flags & ACTIVE_FLAG) != 0, (flags & REPEATED_FLAG) != 0,
+            records.getLong(position + START), records.getLong(position + END), records.getInt(position + INTERVAL));
+    }
+
+    private boolean isIncoming(int index, long from, long to) {
+        int position = position(index);
+        int flags = records.getInt(position + FLAGS);
+        return (flags & ACTIVE_FLAG) != 0
+                   && Tasks.isIncoming((flags & REPEATED_FLAG) != 0, records.getLong(position + START),
+            records.getLong(position + END), records.getInt(position + INTERVAL), from, to);
+    }
+
+    /**
+     * Method for getting the closest time of notification of all the Tasks in list after {@code time},
+     * Task instances are not created
+     *
+     * @param time time in milliseconds, after which to search next notification time
+     * @return the closest notification time, {@link Task#NO_TIME} if no Task will be notified
+     * @throws IllegalArgumentException if {@code time} is less than zero
+     */
+    public long nextTimeAfterMillis(long time) throws IllegalArgumentException {
+        if (time < 0) {
+            throw new IllegalArgumentException("Time after which to search for next notification cannot be less than zero or null");
+        }
+        long closest = Task.NO_TIME;
+        for (int i = 0; i < size(); i++) {
+            int position = position(i);
+            int flags = records.getInt(position + FLAGS);
+            long next = Task.nextTimeAfterMillis((flags & ACTIVE_FLAG) != 0, (flags & REPEATED_FLAG) != 0,
+                records.getLong(position + START), records.getLong(position + END),
+                records.getInt(position + INTERVAL), time);
+            if (next != Task.NO_TIME && (closest == Task.NO_TIME || next < closest)) {
+                closest = next;
+            }
+        }
+        return closest;
+    }
+
+    /**
+     * Method for getting indexes of Tasks, which are going to be notified between {@code from} and {@code to} times,
+     * Task instances are not created
+     *
+     * @param from time in milliseconds, from which to search for notification(excluded)
+     * @param to   time in milliseconds, to which to search for notification(included)
+     * @return indexes of incoming Tasks in ascending order
+     */
+    public int[] incomingIndexes(long from, long to) {
+        int[] indexes = new int[16];
+        int count = 0;
+        for (int i = 0; i < size(); i++) {
+            if (isIncoming(i, from, to)) {
+                if (count == indexes.length) {
+                    indexes = Arrays.copyOf(indexes, count * 2);
+                }
+                indexes[count++] = i;
+            }
+        }
+        return Arrays.copyOf(indexes, count);
+    }
+
+    /**
+     * Method for counting Tasks, which are going to be notified between {@code from} and {@code to} times,
+     * Task instances are not created
+     *
+     * @param from time in milliseconds, from which to search for notification(excluded)
+     * @param to   time in milliseconds, to which to search for notification(included)
+     * @return number of incoming Tasks
+     */
+    public int countIncoming(long from, long to) {
+        int count = 0;
+        for (int i = 0; i < size(); i++) {
+            if (isIncoming(i, from, to)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Method for getting Task by given notification start and end times.
+     * Records are scanned while iterating through returned view, Task instances are created
+     * only for suitable Tasks.
+     *
+     * @param from  time of notification start(excluded)
+     * @param to     time of notification end(included)
+     *
+     * @return read-only view of suitable Tasks
+     * @see Task
+     * @see TaskList
+     */
+    @Override
+    public IncomingTasks incoming(Date from, Date to) {
+        long fromMillis = from.getTime();
+        long toMillis = to.getTime();
+        return new IncomingTasks(() -> new IncomingIter(fromMillis, toMillis), fromMillis, toMillis);
+    }
+
+    /**
+     * Iterator over Tasks, which are incoming in (from, to] window
+     */
+    private class IncomingIter implements Iterator<Task> {
+        final long from;
+        final long to;
+        int next;
+
+        IncomingIter(long from, long to) {
+            this.from = from;
+            this.to = to;
+            this.next = find(0);
+        }
+
+        private int find(int index) {
+            for (int i = index; i < size(); i++) {
+                if (isIncoming(i, from, to)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        public boolean hasNext() {
+            return next >= 0;
+        }
+
+        public Task next() {
+            if (next < 0) {
+                throw new NoSuchElementException();
+            }
+            Task task = createTask(next);
+            next = find(next + 1);
+            return task;
+        }
+    }
+
+    /**
+     * Returns an iterator over the copies of Tasks in this list in proper sequence.
+     *
+     * @return an iterator over the elements in this list in proper sequence
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        return new OffHeapTaskList.Iter();
+    }
+
+    private class Iter implements Iterator<Task> {
+        int cursor;
+        int lastReturnedIndex = -1;
+        Iter() { }
+
+        public boolean hasNext() {
+            return cursor < size();
+        }
+
+        public Task next() {
+            int i = cursor;
+            if (i >= size()) {
+                throw new NoSuchElementException();
+            }
+            cursor = i + 1;
+            return createTask(lastReturnedIndex = i);
+        }
+
+        public void remove() {
+            if (lastReturnedIndex < 0)
+                throw new IllegalStateException();
+
+            OffHeapTaskList.this.remove(lastReturnedIndex);
+            cursor = lastReturnedIndex;
+            lastReturnedIndex = -1;
+        }
+    }
+
+    /**
+     * Tasks are serialized one by one, deserialized list is kept in direct buffers
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        for (Task task : this) {
+            out.writeObject(task);
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int size = size();
+        lastTaskIndex = -1;
+        records = ByteBuffer.allocateDirect(HEADER_SIZE + Math.max(size, 1) * RECORD_SIZE);
+        titles = ByteBuffer.allocateDirect(Math.max(size * 16, 64));
+        writeHeader();
+        for (int i = 0; i < size; i++) {
+            add((Task) in.readObject());
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (Task task : this) {
+            if (builder.length() > 1) {
+                builder.append(", ");
+            }
+            builder.append(task);
+        }
+        return builder.append("]").toString();
+    }
+}
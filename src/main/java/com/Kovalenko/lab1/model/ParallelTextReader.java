@@ -0,0 +1,213 @@
+package com.kovalenko.lab1.model;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Reader of files in text format of Tasks, which parses parts of the file in parallel,
+ * used by {@link TaskIO#readText(TaskList, java.io.File)}.
+ * <p>
+ * File is read into memory by one block read and split into chunks at ";\n" or ";\r\n" record boundaries.
+ * Lines of text format can't contain line separators inside of them, even in titles with doubled quotes,
+ * so every chunk consists of whole lines.
+ * File is not memory mapped, because mapping keeps it locked on some platforms until it is garbage collected,
+ * while the same file is usually written back on exit.
+ * Chunks are decoded and parsed by their own {@link TaskTextParser} in common ForkJoinPool,
+ * then parsed Tasks are added into TaskList in the order of the file, in the same way,
+ * as {@link TaskIO#read(TaskList, java.io.Reader)} does it.
+ *
+ * @author Anton Kovalenko
+ * @version 1.0
+ * @see TaskIO
+ * @see TaskTextParser
+ * @since 10-17-2026
+ */
+class ParallelTextReader {
+
+    private static final int MIN_CHUNK_SIZE = 1 << 20;
+    private static final int CHUNKS_PER_THREAD = 4;
+    /**
+     * Whole file is read into one byte array, which can't be larger than this on common JVMs
+     */
+    private static final int MAX_FILE_SIZE = Integer.MAX_VALUE - 8;
+
+    private ParallelTextReader() {
+    }
+
+    /**
+     * Checks, if reading by chunks is worth it, so common ForkJoinPool has more than one thread
+     * and file is larger than one chunk, and if it's possible, so file fits into one byte array.
+     * Larger files are streamed by one thread.
+     *
+     * @param charset  charset of the file
+     * @param fileSize size of the file in bytes
+     * @return true if file in this charset can be read by {@link #read(TaskList, Path, Charset)}
+     * faster, than by one thread
+     */
+    static boolean isParallel(Charset charset, long fileSize) {
+        return fileSize > MIN_CHUNK_SIZE && fileSize <= MAX_FILE_SIZE && ForkJoinPool.getCommonPoolParallelism() > 1 && isSupported(charset);
+    }
+
+    /**
+     * Checks, if file can be split into chunks of whole lines by bytes ';', '\r' and '\n',
+     * so it's charset encodes them by single bytes and never uses these bytes inside of other characters
+     *
+     * @param charset charset of the file
+     * @return true if file in this charset can be read by {@link #read(TaskList, Path, Charset)}
+     */
+    static boolean isSupported(Charset charset) {
+        return charset.equals(StandardCharsets.UTF_8)
+                || charset.equals(StandardCharsets.US_ASCII)
+                || charset.equals(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Reads tasks from file in text format into TaskList.
+     * If some line can't be parsed, Tasks of all the previous lines are added into the list
+     * and exception of that line is thrown.
+     *
+     * @param tasks   collection of Task, we want to be filled from file
+     * @param file    file in text format of Tasks, which should fit into one byte array
+     * @param charset charset of the file, which should be supported
+     * @throws IOException                     when file can't be read
+     * @throws ParseException                  when there was exception during parsing the data
+     * @throws StringIndexOutOfBoundsException when there was exception during parsing the data
+     * @throws IllegalArgumentException        when charset is not supported
+     */
+    static void read(TaskList tasks, Path file, Charset charset) throws IOException, ParseException {
+        if (!isSupported(charset)) {
+            throw new IllegalArgumentException("Charset can't be split by bytes: " + charset);
+        }
+        List<ChunkTask> chunks = split(Files.readAllBytes(file), charset);
+        if (chunks.size() == 1) {
+            chunks.get(0).invoke();
+        } else {
+            ForkJoinPool.commonPool().invoke(new AllChunksTask(chunks));
+        }
+        for (ChunkTask chunk : chunks) {
+            for (Task task : chunk.tasks) {
+                tasks.add(task);
+            }
+            if (chunk.failure != null) {
+                chunk.rethrowFailure();
+            }
+        }
+        if (tasks instanceof LinkedTaskList) {
+            ((LinkedTaskList) tasks).reverse();
+        }
+    }
+
+    /**
+     * Splits bytes into chunks of about equal size, each of which ends right after ";\n" or ";\r\n"
+     * or at the end of bytes
+     */
+    private static List<ChunkTask> split(byte[] bytes, Charset charset) {
+        int size = bytes.length;
+        int threads = ForkJoinPool.getCommonPoolParallelism();
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, size / (threads * CHUNKS_PER_THREAD) + 1);
+        List<ChunkTask> chunks = new ArrayList<>();
+        int begin = 0;
+        while (begin < size) {
+            int end = begin + chunkSize;
+            if (end >= size || end < 0) {
+                end = size;
+            } else {
+                while (end < size && !isRecordEnd(bytes, end)) {
+                    end++;
+                }
+            }
+            chunks.add(new ChunkTask(bytes, begin, end, charset));
+            begin = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * Checks, if record ends right before {@code index}, so bytes before it are ";\n" or ";\r\n"
+     */
+    private static boolean isRecordEnd(byte[] bytes, int index) {
+        if (bytes[index - 1] != '\n') {
+            return false;
+        }
+        return bytes[index - 2] == ';' || bytes[index - 2] == '\r' && index >= 3 && bytes[index - 3] == ';';
+    }
+
+    /**
+     * Task for ForkJoinPool, which parses all the chunks, forking all of them at once
+     */
+    private static class AllChunksTask extends RecursiveAction {
+
+        private final List<ChunkTask> chunks;
+
+        AllChunksTask(List<ChunkTask> chunks) {
+            this.chunks = chunks;
+        }
+
+        @Override
+        protected void compute() {
+            ForkJoinTask.invokeAll(chunks);
+        }
+    }
+
+    /**
+     * Task for ForkJoinPool, which decodes and parses one chunk of the file.
+     * Exception of the first line, which can't be parsed, is kept together with Tasks of previous lines,
+     * so it is thrown only when all the previous chunks are added into TaskList.
+     */
+    private static class ChunkTask extends RecursiveAction {
+
+        private final byte[] bytes;
+        private final int begin;
+        private final int end;
+        private final Charset charset;
+        private final List<Task> tasks = new ArrayList<>();
+        private Exception failure;
+
+        ChunkTask(byte[] bytes, int begin, int end, Charset charset) {
+            this.bytes = bytes;
+            this.begin = begin;
+            this.end = end;
+            this.charset = charset;
+        }
+
+        @Override
+        protected void compute() {
+            char[] text = new String(bytes, begin, end - begin, charset).toCharArray();
+            TaskTextParser parser = new TaskTextParser();
+            int length = text.length;
+            int lineStart = 0;
+            try {
+                while (lineStart < length) {
+                    int lineEnd = lineStart;
+                    char c = 0;
+                    while (lineEnd < length && (c = text[lineEnd]) != '\n' && c != '\r') {
+                        lineEnd++;
+                    }
+                    tasks.add(parser.parse(text, lineStart, lineEnd));
+                    lineStart = lineEnd + 1;
+                    if (c == '\r' && lineStart < length && text[lineStart] == '\n') {
+                        lineStart++;
+                    }
+                }
+            } catch (ParseException | RuntimeException e) {
+                failure = e;
+            }
+        }
+
+        private void rethrowFailure() throws ParseException {
+            if (failure instanceof ParseException) {
+                throw (ParseException) failure;
+            }
+            throw (RuntimeException) failure;
+        }
+    }
+}
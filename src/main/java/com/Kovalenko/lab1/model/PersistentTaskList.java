@@ -0,0 +1,483 @@
+package com.kovalenko.lab1.model;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * class PersistentTaskList
+ * contains methods to work with list of Tasks, which publishes immutable versions of itself.
+ * <p>
+ * Tasks are kept in a persistent balanced tree (AVL tree ordered by index), nodes of which are never changed.
+ * Every change creates new version of the tree in O(log n), copying only the path from the root
+ * to the changed node, all the other nodes are shared between versions.
+ * Current version is published through single atomic reference, so readers get consistent
+ * {@link #snapshot()} without any locks, and writers from several threads never block each other.
+ * Iterators and streams of the list work over the version, which was current when they were created,
+ * so they never see partial changes and never throw {@link ConcurrentModificationException}.
+ * <p>
+ * Only the list is immutable, Tasks in it are shared between versions,
+ * so changes of Task itself are seen by all the versions. To edit Task consistently,
+ * edit it's copy and replace the Task with the copy by {@link #set(int, Task)}.
+ * @see Task
+ *
+ * @author  Anton Kovalenko
+ * @version 1.0
+ * @since   10-17-2026
+ */
+public class PersistentTaskList extends TaskList implements Iterable<Task>, Serializable {
+
+    private final AtomicReference<Node> root = new AtomicReference<>();
+
+    {
+        lastTaskIndex = -1;
+    }
+
+    /**
+     * Default constructor for PersistentTaskList class
+     */
+    public PersistentTaskList() {
+    }
+
+    private static final class Node implements Serializable {
+        final Task task;
+        final Node left;
+        final Node right;
+        final int size;
+        final int height;
+
+        Node(Task task, Node left, Node right) {
+            this.task = task;
+            this.left = left;
+            this.right = right;
+            this.size = 1 + size(left) + size(right);
+            this.height = 1 + Math.max(height(left), height(right));
+        }
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Creates node with given children, rotating them if heights of children differ by more than one
+     */
+    private static Node balance(Task task, Node left, Node right) {
+        int difference = height(left) - height(right);
+        if (difference > 1) {
+            if (height(left.left) >= height(left.right)) {
+                return new Node(left.task, left.left, new Node(task, left.right, right));
+            }
+            return new Node(left.right.task,
+                new Node(left.task, left.left, left.right.left),
+                new Node(task, left.right.right, right));
+        }
+        if (difference < -1) {
+            if (height(right.right) >= height(right.left)) {
+                return new Node(right.task, new Node(task, left, right.left), right.right);
+            }
+            return new Node(right.left.task,
+                new Node(task, left, right.left.left),
+                new Node(right.task, right.left.right, right.right));
+        }
+        return new Node(task, left, right);
+    }
+
+    private static Node insert(Node node, int index, Task task) {
+        if (node == null) {
+            return new Node(task, null, null);
+        }
+        int leftSize = size(node.left);
+        if (index <= leftSize) {
+            return balance(node.task, insert(node.left, index, task), node.right);
+        }
+        return balance(node.task, node.left, insert(node.right, index - leftSize - 1, task));
+    }
+
+    private static Node erase(Node node, int index) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            return balance(node.task, erase(node.left, index), node.right);
+        }
+        if (index > leftSize) {
+            return balance(node.task, node.left, erase(node.right, index - leftSize - 1));
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        Node first = node.right;
+        while (first.left != null) {
+            first = first.left;
+        }
+        return balance(first.task, node.left, erase(node.right, 0));
+    }
+
+    private static Node replace(Node node, int index, Task task) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            return new Node(node.task, replace(node.left, index, task), node.right);
+        }
+        if (index > leftSize) {
+            return new Node(node.task, node.left, replace(node.right, index - leftSize - 1, task));
+        }
+        return new Node(task, node.left, node.right);
+    }
+
+    private static Task get(Node node, int index) {
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.task;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    private static int indexOfEqual(Node node, Task task) {
+        int index = 0;
+        for (Iterator<Task> it = new Iter(node); it.hasNext(); index++) {
+            if (it.next().equals(task)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOfSame(Node node, Task task) {
+        int index = 0;
+        for (Iterator<Task> it = new Iter(node); it.hasNext(); index++) {
+            if (it.next() == task) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Method for adding non-unique Tasks to the end of list
+     *
+     * @param task Task instance, to be added to list, should not be empty
+     * @see Task
+     * @throws IllegalArgumentException if one tries to add {@code emtyTask}
+     * or null value in list
+     */
+    @Override
+    public void add(Task task) throws IllegalArgumentException {
+        Task emptyTask = new Task();
+        if (task == null || task.equals(emptyTask)) {
+            throw new IllegalArgumentException("Adding empty tasks into list is not allowed");
+        }
+        Node current;
+        do {
+            current = root.get();
+        } while (!root.compareAndSet(current, insert(current, size(current), task)));
+    }
+
+    /**
+     * Method for removing Tasks from list
+     * First Task from list to be equal to {@code task} will be removed
+     *
+     * @param task Task instance, to be removed from list, should not be empty
+     * @return true is such Task was found,
+     *         false if not
+     * @see Task
+     * @throws IllegalArgumentException if one tries to remove {@code emtyTask}
+     * or null value in list
+     */
+    @Override
+    public boolean remove(Task task) throws IllegalArgumentException {
+        Task emptyTask = new Task();
+        if (task == null || task.equals(emptyTask)) {
+            throw new IllegalArgumentException("Removing empty tasks from list is not allowed");
+        }
+        Node current;
+        int index;
+        do {
+            current = root.get();
+            index = indexOfEqual(current, task);
+            if (index < 0) {
+                return false;
+            }
+        } while (!root.compareAndSet(current, erase(current, index)));
+        return true;
+    }
+
+    /**
+     * Method for removing Tasks from list by index
+     *
+     * @param index index, from which to remove a Task, should be in list size bounds
+     * @return true, as Task was removed
+     * @throws IndexOutOfBoundsException if code {@code index} was out of list bounds
+     */
+    public boolean remove(int index) throws IndexOutOfBoundsException {
+        Node current;
+        do {
+            current = root.get();
+            if (index < 0 || index >= size(current)) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size(current));
+            }
+        } while (!root.compareAndSet(current, erase(current, index)));
+        return true;
+    }
+
+    /**
+     * Method for replacing Task by given index in list, e.g. with edited copy of it,
+     * so readers of list see either previous or edited Task, and never partially edited one.
+     * Only the path from the root to the Task is copied, so replacement takes O(log n).
+     *
+     * @param index index of Task to replace, should be in list size bounds
+     * @param task  Task instance to put into list instead of previous one, should not be empty
+     * @return Task, which was replaced
+     * @throws IndexOutOfBoundsException if code {@code index} was out of list bounds
+     * @throws IllegalArgumentException if one tries to put {@code emtyTask} or null value in list
+     */
+    public Task set(int index, Task task) throws IndexOutOfBoundsException, IllegalArgumentException {
+        Task emptyTask = new Task();
+        if (task == null || task.equals(emptyTask)) {
+            throw new IllegalArgumentException("Adding empty tasks into list is not allowed");
+        }
+        Node current;
+        do {
+            current = root.get();
+            if (index < 0 || index >= size(current)) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size(current));
+            }
+        } while (!root.compareAndSet(current, replace(current, index, task)));
+        return get(current, index);
+    }
+
+    /**
+     * Method for removing the Task instance itself, not equal to it, from current version of list
+     *
+     * @param task Task instance to remove
+     * @return true if the Task was in list, false if it was already removed
+     */
+    private boolean removeSame(Task task) {
+        Node current;
+        int index;
+        do {
+            current = root.get();
+            index = indexOfSame(current, task);
+            if (index < 0) {
+                return false;
+            }
+        } while (!root.compareAndSet(current, erase(current, index)));
+        return true;
+    }
+
+    /**
+     * Method for removing Tasks by several indexes at once, as one change of list.
+     * Indexes are positions of Tasks before removal, their order does not matter, repeated indexes are ignored.
+     *
+     * @param indexes indexes of Tasks to remove, should be in list size bounds
+     * @return number of removed Tasks
+     * @throws IndexOutOfBoundsException if any of {@code indexes} was out of list bounds,
+     * no Tasks are removed in that case
+     */
+    public int removeIndices(int... indexes) throws IndexOutOfBoundsException {
+        int[] sortedIndexes = indexes.clone();
+        Arrays.sort(sortedIndexes);
+        Node current;
+        Node changed;
+        int removed;
+        do {
+            current = changed = root.get();
+            removed = 0;
+            // removing from the greatest index keeps smaller indexes valid
+            for (int i = sortedIndexes.length - 1; i >= 0; i--) {
+                int index = sortedIndexes[i];
+                if (index < 0 || index >= size(current)) {
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size(current));
+                }
+                if (i == sortedIndexes.length - 1 || index != sortedIndexes[i + 1]) {
+                    changed = erase(changed, index);
+                    removed++;
+                }
+            }
+        } while (!root.compareAndSet(current, changed));
+        return removed;
+    }
+
+    /**
+     * Method for getting size of list
+     *
+     * @return size of current version of list
+     */
+    @Override
+    public int size() {
+        return size(root.get());
+    }
+
+    /**
+     * Method for getting Task by given index in list
+     *
+     * @param index index of Task in list,
+     *              should be more than 0 and less than list size
+     * @return Task in list by given index
+     * @see Task
+     * @throws IndexOutOfBoundsException if code {@code index} was out of list bounds
+     */
+    @Override
+    public Task getTask(int index) throws IndexOutOfBoundsException {
+        Node current = root.get();
+        if (index < 0 || index >= size(current)) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size(current));
+        }
+        return get(current, index);
+    }
+
+    /**
+     * Method for getting immutable snapshot of current version of list.
+     * Snapshot is taken in O(1) and is not changed by following changes of list.
+     *
+     * @return read-only list of Tasks, which are in list at the moment
+     * @see Snapshot
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(root.get());
+    }
+
+    /**
+     * Read-only version of {@link PersistentTaskList}, which can be read by any number of threads without locks
+     */
+    public static final class Snapshot extends TaskList implements Iterable<Task>, Serializable {
+
+        private final Node root;
+
+        private Snapshot(Node root) {
+            this.root = root;
+            this.lastTaskIndex = PersistentTaskList.size(root) - 1;
+        }
+
+        /**
+         * Snapshot can't be changed
+         *
+         * @throws UnsupportedOperationException always
+         */
+        @Override
+        public void add(Task task) {
+            throw new UnsupportedOperationException("Snapshot of list of tasks can't be changed");
+        }
+
+        /**
+         * Snapshot can't be changed
+         *
+         * @throws UnsupportedOperationException always
+         */
+        @Override
+        public boolean remove(Task task) {
+            throw new UnsupportedOperationException("Snapshot of list of tasks can't be changed");
+        }
+
+        @Override
+        public Task getTask(int index) throws IndexOutOfBoundsException {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+            return get(root, index);
+        }
+
+        @Override
+        public Iterator<Task> iterator() {
+            return new Iter(root);
+        }
+
+        @Override
+        public String toString() {
+            return PersistentTaskList.toString(root);
+        }
+    }
+
+    /**
+     * Returns an iterator over the Tasks of current version of list in proper sequence.
+     * Iterator is not affected by following changes of list.
+     *
+     * @return an iterator over the elements in this list in proper sequence
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        return new PersistentTaskList.ListIter(root.get());
+    }
+
+    /**
+     * Iterator over version of list, which removes returned Task instance from current version of list,
+     * so the right Task is removed, even if list was changed by other writers since the iterator was created
+     */
+    private class ListIter extends Iter {
+        Task lastReturned;
+
+        ListIter(Node root) {
+            super(root);
+        }
+
+        @Override
+        public Task next() {
+            lastReturned = super.next();
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            removeSame(lastReturned);
+            lastReturned = null;
+        }
+    }
+
+    /**
+     * In-order iterator over immutable tree
+     */
+    private static class Iter implements Iterator<Task> {
+        final Deque<Node> stack = new ArrayDeque<>();
+
+        Iter(Node root) {
+            pushLeft(root);
+        }
+
+        private void pushLeft(Node node) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+        }
+
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        public Task next() {
+            if (stack.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node node = stack.pop();
+            pushLeft(node.right);
+            return node.task;
+        }
+    }
+
+    private static String toString(Node root) {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (Iterator<Task> it = new Iter(root); it.hasNext(); ) {
+            joiner.add(String.valueOf(it.next()));
+        }
+        return joiner.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toString(root.get());
+    }
+}
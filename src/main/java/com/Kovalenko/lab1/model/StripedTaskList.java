@@ -0,0 +1,298 @@
+package com.kovalenko.lab1.model;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * class StripedTaskList
+ * contains methods to work with list of Tasks, which can be changed by several threads at once.
+ * <p>
+ * Tasks are split into stripes by identity hash code of Task, each stripe is a linked list with it's own lock
+ * and identity index of it's Tasks, so threads, which add or remove different Tasks, mostly lock different stripes
+ * and do not wait for each other, and removal of Task instance from list costs O(1).
+ * Removed nodes keep their link to the next node, so iterators, which don't take any locks, are weakly consistent:
+ * they never throw {@link ConcurrentModificationException}, return every Task, which was in list
+ * during all the iteration, exactly once, and may or may not return Tasks, which were changed meanwhile.
+ * <p>
+ * Tasks are ordered by stripes, and by order of addition inside the stripe, so order of Tasks in list
+ * is not the order of their addition. {@link #size()} and {@link #getTask(int)} are exact only
+ * if the list is not changed at the same time.
+ * @see Task
+ *
+ * @author  Anton Kovalenko
+ * @version 1.0
+ * @since   10-17-2026
+ */
+public class StripedTaskList extends TaskList implements Iterable<Task>, Serializable {
+
+
+    private final Stripe[] stripes;
+
+    {
+        lastTaskIndex = -1;
+    }
+
+    /**
+     * Default constructor for StripedTaskList class,
+     * number of stripes is chosen by number of available processors
+     */
+    public StripedTaskList() {
+        this(4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor for StripedTaskList class
+     *
+     * @param concurrencyLevel estimated number of threads, changing list at once, should be more than zero
+     * @throws IllegalArgumentException if {@code concurrencyLevel} is not more than zero
+     */
+    public StripedTaskList(int concurrencyLevel) throws IllegalArgumentException {
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("Concurrency level should be more than zero");
+        }
+        int stripesCount = Integer.highestOneBit(Math.min(concurrencyLevel, 1 << 16) * 2 - 1);
+        stripes = new Stripe[stripesCount];
+        for (int i = 0; i < stripesCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    private static final class Node implements Serializable {
+        final Task task;
+        volatile Node next;
+        Node prev;
+        volatile boolean removed;
+
+        Node(Task task) {
+            this.task = task;
+        }
+    }
+
+    private static final class Stripe implements Serializable {
+        final Node head = new Node(null);
+        Node tail = head;
+        final Map<Task, List<Node>> nodesOfTask = new IdentityHashMap<>();
+        volatile int count;
+
+        synchronized void add(Task task) {
+            Node node = new Node(task);
+            node.prev = tail;
+            tail.next = node;
+            tail = node;
+            nodesOfTask.computeIfAbsent(task, k -> new ArrayList<>(1)).add(node);
+            count++;
+        }
+
+        /**
+         * Unlinks node from the stripe, next reference of the node is kept,
+         * so iterators, which stay at the node, can continue
+         */
+        private void removeNode(Node node) {
+            node.prev.next = node.next;
+            if (node.next != null) {
+                node.next.prev = node.prev;
+            } else {
+                tail = node.prev;
+            }
+            node.removed = true;
+            List<Node> nodes = nodesOfTask.get(node.task);
+            nodes.remove(node);
+            if (nodes.isEmpty()) {
+                nodesOfTask.remove(node.task);
+            }
+            count--;
+        }
+
+        synchronized boolean removeSame(Task task) {
+            List<Node> nodes = nodesOfTask.get(task);
+            if (nodes == null) {
+                return false;
+            }
+            removeNode(nodes.get(0));
+            return true;
+        }
+
+        synchronized boolean removeEqual(Task task) {
+            for (Node node = head.next; node != null; node = node.next) {
+                if (node.task.equals(task)) {
+                    removeNode(node);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        synchronized void remove(Node node) {
+            if (!node.removed) {
+                removeNode(node);
+            }
+        }
+    }
+
+    private Stripe stripeOf(Task task) {
+        int hash = System.identityHashCode(task);
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    /**
+     * Method for adding non-unique Tasks to list, can be called by several threads at once
+     *
+     * @param task Task instance, to be added to list, should not be empty
+     * @see Task
+     * @throws IllegalArgumentException if one tries to add {@code emtyTask}
+     * or null value in list
+     */
+    @Override
+    public void add(Task task) throws IllegalArgumentException {
+        Task emptyTask = new Task();
+        if (task == null || task.equals(emptyTask)) {
+            throw new IllegalArgumentException("Adding empty tasks into list is not allowed");
+        }
+        stripeOf(task).add(task);
+    }
+
+    /**
+     * Method for removing Tasks from list, can be called by several threads at once.
+     * If {@code task} instance itself is in list, it is found by identity in O(1),
+     * otherwise Task equal to {@code task} is searched for in all the stripes, first found Task is removed.
+     *
+     * @param task Task instance, to be removed from list, should not be empty
+     * @return true is such Task was found,
+     *         false if not
+     * @see Task
+     * @throws IllegalArgumentException if one tries to remove {@code emtyTask}
+     * or null value in list
+     */
+    @Override
+    public boolean remove(Task task) throws IllegalArgumentException {
+        Task emptyTask = new Task();
+        if (task == null || task.equals(emptyTask)) {
+            throw new IllegalArgumentException("Removing empty tasks from list is not allowed");
+        }
+        Stripe own = stripeOf(task);
+        if (own.removeSame(task) || own.removeEqual(task)) {
+            return true;
+        }
+        for (Stripe stripe : stripes) {
+            if (stripe != own && stripe.removeEqual(task)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Method for getting size of list, which is approximate, while list is being changed
+     *
+     * @return size of list
+     */
+    @Override
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.count;
+        }
+        return size;
+    }
+
+    /**
+     * Method for getting Task by given index in list
+     *
+     * @param index index of Task in list,
+     *              should be more than 0 and less than list size
+     * @return Task in list by given index
+     * @see Task
+     * @throws IndexOutOfBoundsException if code {@code index} was out of list bounds
+     */
+    @Override
+    public Task getTask(int index) throws IndexOutOfBoundsException {
+        if (index >= 0) {
+            int offset = index;
+            for (Stripe stripe : stripes) {
+                synchronized (stripe) {
+                    if (offset < stripe.count) {
+                        Node node = stripe.head.next;
+                        while (offset-- > 0) {
+                            node = node.next;
+                        }
+                        return node.task;
+                    }
+                    offset -= stripe.count;
+                }
+            }
+        }
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+    }
+
+    /**
+     * Returns weakly consistent iterator over the Tasks in this list, stripe by stripe.
+     * Removal through iterator removes exactly the returned Task instance.
+     *
+     * @return an iterator over the elements in this list
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        return new StripedTaskList.Iter();
+    }
+
+    private class Iter implements Iterator<Task> {
+        int nextStripeIndex;
+        Node nextNode;
+        int lastReturnedStripeIndex;
+        Node lastReturned;
+
+        Iter() {
+            nextNode = advance(stripes[0].head);
+        }
+
+        /**
+         * Finds the first node after {@code node}, which is not removed, going through following stripes if needed
+         */
+        private Node advance(Node node) {
+            while (true) {
+                Node next = node.next;
+                while (next != null && next.removed) {
+                    next = next.next;
+                }
+                if (next != null) {
+                    return next;
+                }
+                if (++nextStripeIndex >= stripes.length) {
+                    return null;
+                }
+                node = stripes[nextStripeIndex].head;
+            }
+        }
+
+        public boolean hasNext() {
+            return nextNode != null;
+        }
+
+        public Task next() {
+            if (nextNode == null) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = nextNode;
+            lastReturnedStripeIndex = nextStripeIndex;
+            nextNode = advance(nextNode);
+            return lastReturned.task;
+        }
+
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            stripes[lastReturnedStripeIndex].remove(lastReturned);
+            lastReturned = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (Task task : this) {
+            joiner.add(String.valueOf(task));
+        }
+        return joiner.toString();
+    }
+}
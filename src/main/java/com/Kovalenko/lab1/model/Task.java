@@ -1,9 +1,9 @@
 package com.kovalenko.lab1.model;
 
 import java.io.Serializable;
-import java.util.Date;
-import java.util.HashMap;
-import java.util.Objects;
+import java.util.*;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
 
 /**
  * class Task contains information about it's essence, it's status (active/disable),
@@ -18,11 +18,17 @@ public class Task implements Cloneable, Serializable {
     private String title;
     private boolean active;
     private boolean repeated;
-    private Date time;
-    private Date start;
-    private Date end;
+    private long time = NO_TIME;
+    private long start = NO_TIME;
+    private long end = NO_TIME;
     private int repeatInterval;
 
+    /**
+     * Value of time fields for Task, which time was not set yet,
+     * also returned by {@link #nextTimeAfterMillis(long)} if there is no next notification
+     */
+    public static final long NO_TIME = -1;
+
     /**
      * Default constructor for Task class, creates unrepeatable Task instance
      */
@@ -127,9 +133,9 @@ public class Task implements Cloneable, Serializable {
      */
     public void setTime(Date start, Date end, int repeat) throws IllegalArgumentException {
         if ((end.getTime() > start.getTime()) && (repeat > 0) && (start.getTime() >= 0)) {
-            this.time = start;
-            this.start = start;
-            this.end = end;
+            this.time = start.getTime();
+            this.start = start.getTime();
+            this.end = end.getTime();
             this.repeatInterval = repeat;
             this.repeated = true;
             this.active = false;
@@ -144,6 +150,16 @@ public class Task implements Cloneable, Serializable {
      * @return start notification time for repeatable, notification time for non repeatable
      */
     public Date getTime() {
+        return toDate(this.time);
+    }
+
+    /**
+     * Gets the start time for Task notification in milliseconds
+     *
+     * @return start notification time for repeatable, notification time for non repeatable,
+     * {@link #NO_TIME} if time was not set
+     */
+    public long timeMillis() {
         return this.time;
     }
 
@@ -155,9 +171,9 @@ public class Task implements Cloneable, Serializable {
      */
     public void setTime(Date time) throws IllegalArgumentException {
         if (time.getTime() >= 0) {
-            this.time = time;
-            this.start = time;
-            this.end = time;
+            this.time = time.getTime();
+            this.start = time.getTime();
+            this.end = time.getTime();
             this.repeatInterval = 0;
             this.repeated = false;
             this.active = false;
@@ -175,9 +191,9 @@ public class Task implements Cloneable, Serializable {
      */
     public void setTime(Date time, boolean state) throws IllegalArgumentException {
         if (time.getTime() >= 0) {
-            this.time = time;
-            this.start = time;
-            this.end = time;
+            this.time = time.getTime();
+            this.start = time.getTime();
+            this.end = time.getTime();
             this.repeatInterval = 0;
             this.repeated = false;
             this.active = state;
@@ -192,6 +208,16 @@ public class Task implements Cloneable, Serializable {
      * @return start notification time for repeatable, notification time for non repeatable
      */
     public Date getStartTime() {
+        return toDate(this.start);
+    }
+
+    /**
+     * Gets the start time for Task notification in milliseconds
+     *
+     * @return start notification time for repeatable, notification time for non repeatable,
+     * {@link #NO_TIME} if time was not set
+     */
+    public long startMillis() {
         return this.start;
     }
 
@@ -201,6 +227,16 @@ public class Task implements Cloneable, Serializable {
      * @return end notification time for repeatable, notification time for non repeatable
      */
     public Date getEndTime() {
+        return toDate(endMillis());
+    }
+
+    /**
+     * Gets the end time for Task notification in milliseconds
+     *
+     * @return end notification time for repeatable, notification time for non repeatable,
+     * {@link #NO_TIME} if time was not set
+     */
+    public long endMillis() {
         if (!this.repeated) {
             return this.time;
         } else {
@@ -208,6 +244,51 @@ public class Task implements Cloneable, Serializable {
         }
     }
 
+    /**
+     * Gets the end time field of Task, which is kept even if Task was made non repeatable
+     *
+     * @return end time in milliseconds, as it was set last time
+     */
+    long endField() {
+        return this.end;
+    }
+
+    /**
+     * Creates Task with given state, which was taken from another Task,
+     * so lists, which keep state of Tasks by themselves, can create equal Task instances
+     *
+     * @param title          title of Task
+     * @param active         active state of Task
+     * @param repeated       repeated state of Task
+     * @param start          start time of Task in milliseconds, also it's time of notification
+     * @param end            end time field of Task in milliseconds
+     * @param repeatInterval repeat interval of Task in seconds
+     * @return new Task instance
+     * @see #endField()
+     */
+    static Task of(String title, boolean active, boolean repeated, long start, long end, int repeatInterval) {
+        Task task = new Task();
+        task.title = title;
+        task.active = active;
+        task.repeated = repeated;
+        task.time = start;
+        task.start = start;
+        task.end = end;
+        task.repeatInterval = repeatInterval;
+        return task;
+    }
+
+    /**
+     * Checks if the Task is active and specified time is between it's start and end times
+     *
+     * @param time time in milliseconds to check
+     * @return true, if the Task is active and {@code time} is in it's [start, end] interval,
+     * false otherwise
+     */
+    public boolean isActiveAt(long time) {
+        return this.active && this.start != NO_TIME && this.start <= time && time <= endMillis();
+    }
+
     /**
      * Gets the repeatInterval interval for Task notification
      *
@@ -248,33 +329,143 @@ public class Task implements Cloneable, Serializable {
      * Gets the next time for Task notification
      *
      * @param time after which to search next Task notification  time
-     * @return next time for Task notification , -1 if the Task is not active or it is non repeatable or if there will be no Task notification  after specified time
+     * @return next time for Task notification , null if the Task is not active or it is non repeatable or if there will be no Task notification  after specified time
+     * @see #nextTimeAfterMillis(long)
      */
     public Date nextTimeAfter(Date time) throws IllegalArgumentException {
-        if (time == null || time.getTime() < 0) {
+        if (time == null) {
             throw new IllegalArgumentException("Time after which to search for next notification cannot be less than zero or null");
         }
+        return toDate(nextTimeAfterMillis(time.getTime()));
+    }
 
-        if (!this.active) {
-            return null;
+    /**
+     * Gets the next time for Task notification in milliseconds
+     *
+     * @param time time in milliseconds, after which to search next Task notification time
+     * @return next time for Task notification, {@link #NO_TIME} if the Task is not active
+     * or if there will be no Task notification after specified time
+     */
+    public long nextTimeAfterMillis(long time) throws IllegalArgumentException {
+        return nextTimeAfterMillis(this.active, this.repeated, this.start, this.end, this.repeatInterval, time);
+    }
+
+    /**
+     * Gets the next time of notification for Task with given state, in milliseconds,
+     * so lists, which keep times of Tasks by themselves, don't need Task instances to compute it
+     *
+     * @param active         active state of Task
+     * @param repeated       repeated state of Task
+     * @param start          start time of Task in milliseconds, time of notification for non repeatable Task
+     * @param end            end time of Task in milliseconds
+     * @param repeatInterval repeat interval of Task in seconds
+     * @param time           time in milliseconds, after which to search next Task notification time
+     * @return next time for Task notification, {@link #NO_TIME} if the Task is not active
+     * or if there will be no Task notification after specified time
+     * @see #nextTimeAfterMillis(long)
+     */
+    static long nextTimeAfterMillis(boolean active, boolean repeated, long start, long end, int repeatInterval, long time)
+        throws IllegalArgumentException {
+        if (time < 0) {
+            throw new IllegalArgumentException("Time after which to search for next notification cannot be less than zero or null");
         }
 
-        if (!this.repeated && this.time.getTime() > time.getTime()) {
-            return this.time;
-        } else if (!this.repeated && this.time.getTime() <= time.getTime()) {
-            return null;
+        if (!active) {
+            return NO_TIME;
         }
 
-        if (this.repeated && this.start.getTime() > time.getTime()) {
-            return this.time;
-        } else if (this.repeated && this.start.getTime() <= time.getTime()) {
-            for (long i = this.start.getTime(); i < this.end.getTime(); i += getMillisecondsRepeatInterval()) {
-                if ((time.getTime() >= i) && (time.getTime() < i + getMillisecondsRepeatInterval())) {
-                    return (i + getMillisecondsRepeatInterval() > this.end.getTime()) ? null : new Date(i + getMillisecondsRepeatInterval());
-                }
+        if (!repeated) {
+            return start > time ? start : NO_TIME;
+        }
+
+        if (start > time) {
+            return start;
+        }
+        long interval = repeatInterval * 1000L;
+        if (interval <= 0) {
+            return NO_TIME;
+        }
+        // occurrence, which is the closest one not after specified time
+        long previous = start + (time - start) / interval * interval;
+        if (previous >= end) {
+            return NO_TIME;
+        }
+        return (previous + interval > end) ? NO_TIME : previous + interval;
+    }
+
+    /**
+     * Gets all the times of Task notification between {@code from} and {@code to} times,
+     * times are computed lazily while iterating, in ascending order
+     *
+     * @param from time in milliseconds, from which to search for notifications(excluded)
+     * @param to   time in milliseconds, to which to search for notifications(included)
+     * @return iterator over notification times in milliseconds
+     * @see #countOccurrences(long, long)
+     */
+    public PrimitiveIterator.OfLong occurrences(long from, long to) throws IllegalArgumentException {
+        return new OccurrencesIter(nextTimeAfterMillis(from), to);
+    }
+
+    /**
+     * Gets all the times of Task notification between {@code from} and {@code to} times as LongStream
+     *
+     * @param from time in milliseconds, from which to search for notifications(excluded)
+     * @param to   time in milliseconds, to which to search for notifications(included)
+     * @return sequential ordered stream of notification times in milliseconds
+     * @see #occurrences(long, long)
+     */
+    public LongStream occurrenceStream(long from, long to) throws IllegalArgumentException {
+        return StreamSupport.longStream(Spliterators.spliterator(occurrences(from, to), countOccurrences(from, to),
+            Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE), false);
+    }
+
+    /**
+     * Counts the notifications of the Task between {@code from} and {@code to} times,
+     * without iterating through them
+     *
+     * @param from time in milliseconds, from which to search for notifications(excluded)
+     * @param to   time in milliseconds, to which to search for notifications(included)
+     * @return number of notifications in specified period
+     */
+    public long countOccurrences(long from, long to) throws IllegalArgumentException {
+        long first = nextTimeAfterMillis(from);
+        if (first == NO_TIME || first > to) {
+            return 0;
+        }
+        long interval = this.repeatInterval * 1000L;
+        if (!this.repeated || interval <= 0) {
+            return 1;
+        }
+        return (Math.min(to, this.end) - first) / interval + 1;
+    }
+
+    private class OccurrencesIter implements PrimitiveIterator.OfLong {
+        long next;
+        final long last;
+        final long interval;
+
+        OccurrencesIter(long first, long to) {
+            this.next = first;
+            this.last = Task.this.repeated ? Math.min(to, Task.this.end) : to;
+            this.interval = Task.this.repeated ? Task.this.repeatInterval * 1000L : 0;
+        }
+
+        public boolean hasNext() {
+            return next != NO_TIME && next <= last;
+        }
+
+        public long nextLong() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
             }
+            long timeToReturn = next;
+            next = interval > 0 ? next + interval : NO_TIME;
+            return timeToReturn;
         }
-        return null;
+    }
+
+    private static Date toDate(long time) {
+        return time == NO_TIME ? null : new Date(time);
     }
 
     /**
@@ -286,14 +477,14 @@ public class Task implements Cloneable, Serializable {
     public String toString() {
         if (!this.active) {
             if (!this.isRepeated()) {
-                return "Task \"" + this.title + "\" at " + this.time + " is inactive";
+                return "Task \"" + this.title + "\" at " + getTime() + " is inactive";
             } else {
-                return "Task \"" + this.title + "\" from " + this.start + " to " + this.end + " every " + this.repeatInterval / 60 + " minutes is inactive";
+                return "Task \"" + this.title + "\" from " + getStartTime() + " to " + toDate(this.end) + " every " + this.repeatInterval / 60 + " minutes is inactive";
             }
         } else if (!repeated) {
-            return "Task \"" + this.title + "\" at " + this.time + " is active";
+            return "Task \"" + this.title + "\" at " + getTime() + " is active";
         } else {
-            return "Task \"" + this.title + "\" from " + this.start + " to " + this.end + " every " + this.repeatInterval / 60 + " minutes is active";
+            return "Task \"" + this.title + "\" from " + getStartTime() + " to " + toDate(this.end) + " every " + this.repeatInterval / 60 + " minutes is active";
         }
     }
 
@@ -317,9 +508,9 @@ public class Task implements Cloneable, Serializable {
         return (this.getTitle().equals(castedTask.getTitle())
                     && castedTask.isActive() == this.isActive()
                     && castedTask.isRepeated() == this.isRepeated()
-                    && castedTask.getTime().getTime() == (this.getTime().getTime())
-                    && castedTask.getStartTime().getTime() == (this.getStartTime().getTime())
-                    && castedTask.getEndTime().getTime() == (this.getEndTime().getTime())
+                    && castedTask.timeMillis() == this.timeMillis()
+                    && castedTask.startMillis() == this.startMillis()
+                    && castedTask.endMillis() == this.endMillis()
                     && castedTask.getRepeatInterval() == this.getRepeatInterval()
                     && castedTask.hashCode() == this.hashCode());
     }
@@ -335,7 +526,17 @@ public class Task implements Cloneable, Serializable {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(title, active, repeated, time, start, end, repeatInterval);
+        return Objects.hash(title, active, repeated, hashTime(time), hashTime(start), hashTime(end), repeatInterval);
+    }
+
+    /**
+     * Hash code of a time field, equal to hash code of the same time as a Date
+     *
+     * @param time time in milliseconds
+     * @return hash code of time, 0 if time was not set
+     */
+    private static int hashTime(long time) {
+        return time == NO_TIME ? 0 : Long.hashCode(time);
     }
 
     /**
@@ -409,20 +610,23 @@ public class Task implements Cloneable, Serializable {
      * false, otherwise
      */
     public boolean isAtDate(Date date) {
-        if (!isActive()) return false;
-        if (!isRepeated()) return start.equals(date);
-        if (isRepeated()) {
-            if (end.compareTo(date) < 0) return false;
-            if (end.compareTo(date) == 0) return true;
-            if (start.compareTo(date) == 0) return true;
-
-            Date tempDate = start;
-            while (tempDate != null) {
-                if (tempDate.equals(date)) return true;
-                tempDate = nextTimeAfter(tempDate);
-            }
+        return date != null && isAtMillis(date.getTime());
+    }
 
-        }
-        return false;
+    /**
+     * @param time time in milliseconds, to check if Task is being notified at this time
+     * @return true, if there will be a notification about Task at specified time
+     * false, otherwise
+     */
+    public boolean isAtMillis(long time) {
+        if (!isActive()) return false;
+        if (!isRepeated()) return start == time;
+        if (end < time) return false;
+        if (end == time) return true;
+        if (start == time) return true;
+        if (start > time) return false;
+
+        long interval = this.repeatInterval * 1000L;
+        return interval > 0 && (time - start) % interval == 0;
     }
 }
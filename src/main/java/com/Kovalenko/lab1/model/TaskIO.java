@@ -1,14 +1,20 @@
 package com.kovalenko.lab1.model;
 
 import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
 
 
 /**
@@ -25,6 +31,21 @@ import java.util.regex.Pattern;
  */
 public class TaskIO {
 
+    /**
+     * First four bytes of binary format of version 2, which can't be the number of Tasks of the old format
+     */
+    static final int BINARY_MAGIC = 0x89545332; // 0x89 "TS2"
+    static final int BINARY_VERSION = 2;
+
+    static final int ACTIVE_FLAG = 1;
+    static final int REPEATED_FLAG = 2;
+    static final int END_FLAG = 4;
+    static final int INTERVAL_FLAG = 8;
+    static final int TITLE_REFERENCE_FLAG = 16;
+
+    private static final int TITLE_CHUNK_SIZE = 8192;
+    private static final int TEXT_BUFFER_SIZE = 1 << 16;
+
     private TaskIO() {
     }
 
@@ -44,34 +65,96 @@ public class TaskIO {
     }
 
     /**
-     * Method to put Task collection {@code tasks} into OutputStream in following format:
-     * Number of Tasks -> Title length -> Title -> 0 or 1 whether is active or not ->
-     * -> interval of repetition (if is repeated then put time of start and time of ending)
-     * (if is not repeated then put a time of notification)
+     * Method to put Task collection {@code tasks} into OutputStream in binary format of version 2:
+     * magic number -> version -> number of Tasks -> Tasks -> CRC32 checksum of all the previous bytes.
+     * Each Task is written as flags of active and repeated states and of present fields ->
+     * title length and title in UTF-8, or index of the same title among titles written before ->
+     * -> start time as difference with start time of previous Task ->
+     * end time as difference with start time, if it differs -> repeat interval, if it is not zero.
+     * Numbers are written as variable length integers, so small numbers take one byte,
+     * signed ones are zigzag encoded.
      *
      * @param tasks collection of Task, we want to serialize into OutputStream
      * @param out   OutputStream, to serialize the collection in
      * @throws IOException when there was exception during writing to the OutputStream
+     * @see #read(TaskList, InputStream)
      * @see Task
      */
     public static void write(TaskList tasks, OutputStream out) throws IOException {
-        Iterator<Task> iter = tasks.iterator();
-        Task currentTask;
-        DataOutputStream dos = new DataOutputStream(out);
-        dos.writeInt(tasks.size()); //number of tasks
-        while (iter.hasNext()) {
-            currentTask = iter.next();
-            dos.writeInt(currentTask.getTitle().length()); // title length
-            dos.writeChars(currentTask.getTitle());        // title in byte array
-            dos.writeInt(currentTask.isActive() ? 1 : 0);  // 0 or 1 if active or not
-            dos.writeInt(currentTask.getRepeatInterval()); // write repeat interval
-            if (currentTask.isRepeated()) {
-                dos.writeLong(currentTask.getStartTime().getTime()); // task is repeated, so put start time
-                dos.writeLong(currentTask.getEndTime().getTime());   // and end time
+        CheckedOutputStream checked = new CheckedOutputStream(out, new CRC32());
+        DataOutputStream dos = new DataOutputStream(checked);
+        dos.writeInt(BINARY_MAGIC);
+        writeVarLong(dos, BINARY_VERSION);
+        int count = tasks.size();
+        writeVarLong(dos, count);
+        Map<String, Integer> titleIndexes = new HashMap<>();
+        long previousStart = 0;
+        int written = 0;
+        for (Task currentTask : tasks) {
+            if (written++ == count) {
+                throw new ConcurrentModificationException();
+            }
+            long start = currentTask.startMillis();
+            long end = currentTask.endField();
+            int interval = currentTask.getRepeatInterval();
+            int flags = (currentTask.isActive() ? ACTIVE_FLAG : 0)
+                            | (currentTask.isRepeated() ? REPEATED_FLAG : 0)
+                            | (end != start ? END_FLAG : 0)
+                            | (interval != 0 ? INTERVAL_FLAG : 0);
+            Integer titleIndex = titleIndexes.get(currentTask.getTitle());
+            if (titleIndex != null) {
+                dos.write(flags | TITLE_REFERENCE_FLAG);
+                writeVarLong(dos, titleIndex);
             } else {
-                dos.writeLong(currentTask.getTime().getTime());      // task is non repeated, so put the time of notification
+                dos.write(flags);
+                byte[] title = currentTask.getTitle().getBytes(StandardCharsets.UTF_8);
+                writeVarLong(dos, title.length);
+                dos.write(title);
+                titleIndexes.put(currentTask.getTitle(), titleIndexes.size());
+            }
+            writeVarLong(dos, zigZag(start - previousStart));
+            if (end != start) {
+                writeVarLong(dos, zigZag(end - start));
+            }
+            if (interval != 0) {
+                writeVarLong(dos, zigZag(interval));
+            }
+            previousStart = start;
+        }
+        if (written != count) {
+            throw new ConcurrentModificationException();
+        }
+        dos.flush();
+        new DataOutputStream(out).writeInt((int) checked.getChecksum().getValue());
+        out.flush();
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
             }
         }
+        throw new IOException("Malformed variable length number");
     }
 
     /**
@@ -90,56 +173,164 @@ public class TaskIO {
     }
 
     /**
-     * Method to get Tasks  {@code tasks} from InputStream in following format:
+     * Method to get Tasks {@code tasks} from InputStream in binary format of version 2,
+     * written by {@link #write(TaskList, OutputStream)}, or in the old format:
      * Number of Tasks -> Title length -> Title -> 0 or 1 whether is active or not ->
      * -> interval of repetition (if is repeated then put time of start and time of ending)
      * (if is not repeated then put a time of notification)
-     * then - converting tasks into Task objects and adding them into collection
+     * then - converting tasks into Task objects and adding them into collection.
+     * Format is recognized by the first four bytes, exactly as many Tasks as written in the header are read,
+     * so stream is not read after the last Task.
+     * Tasks of version 2 are added to collection only after their checksum is verified.
      *
      * @param tasks collection of Task, we want to be filled from InputStream
      * @param in    InputStream, to fill the collection from
-     * @throws IOException when there was exception during reading from the InputStream
+     * @throws IOException when there was exception during reading from the InputStream,
+     *                     or data is corrupted
      * @see Task
      */
     public static void read(TaskList tasks, InputStream in) throws IOException {
-        DataInputStream dis = new DataInputStream(in);
+        DataInputStream rawInput = new DataInputStream(in);
+        int header = rawInput.readInt();
+        if (header != BINARY_MAGIC) {
+            readVersion1(tasks, rawInput, header);
+            return;
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(new byte[]{(byte) (header >>> 24), (byte) (header >>> 16), (byte) (header >>> 8), (byte) header});
+        CheckedInputStream checked = new CheckedInputStream(in, checksum);
+        DataInputStream dis = new DataInputStream(checked);
+        long version = readVarLong(dis);
+        if (version != BINARY_VERSION) {
+            throw new IOException("Unsupported version of binary format: " + version);
+        }
+        long count = readVarLong(dis);
+        if (count > Integer.MAX_VALUE) {
+            throw new IOException("Invalid number of tasks: " + count);
+        }
+        List<Task> readTasks = new ArrayList<>((int) Math.min(count, 1 << 16));
+        List<String> titles = new ArrayList<>();
+        long previousStart = 0;
+        for (long i = 0; i < count; i++) {
+            int flags = dis.readUnsignedByte();
+            String title;
+            if ((flags & TITLE_REFERENCE_FLAG) != 0) {
+                long titleIndex = readVarLong(dis);
+                if (titleIndex < 0 || titleIndex >= titles.size()) {
+                    throw new IOException("Invalid title reference: " + titleIndex);
+                }
+                title = titles.get((int) titleIndex);
+            } else {
+                long titleLength = readVarLong(dis);
+                if (titleLength < 0 || titleLength > Integer.MAX_VALUE) {
+                    throw new IOException("Invalid title length: " + titleLength);
+                }
+                title = new String(readTitleBytes(dis, (int) titleLength), StandardCharsets.UTF_8);
+                titles.add(title);
+            }
+            long start = previousStart + unZigZag(readVarLong(dis));
+            long end = (flags & END_FLAG) != 0 ? start + unZigZag(readVarLong(dis)) : start;
+            int interval = (flags & INTERVAL_FLAG) != 0 ? (int) unZigZag(readVarLong(dis)) : 0;
+            Task currentTask = Task.of(null, (flags & ACTIVE_FLAG) != 0, (flags & REPEATED_FLAG) != 0,
+                start, end, interval);
+            try {
+                currentTask.setTitle(title);
+            } catch (IllegalArgumentException ex) {
+                throw new IOException("Invalid title of task " + i, ex);
+            }
+            readTasks.add(currentTask);
+            previousStart = start;
+        }
+        int expectedChecksum = (int) checked.getChecksum().getValue();
+        if (new DataInputStream(in).readInt() != expectedChecksum) {
+            throw new IOException("Checksum mismatch, data is corrupted");
+        }
+        for (Task currentTask : readTasks) {
+            tasks.add(currentTask);
+        }
+    }
+
+    /**
+     * Reads title of {@code length} bytes, which was not verified by checksum yet,
+     * long titles are read by chunks, so corrupted length can't make huge array be allocated before data is read
+     */
+    private static byte[] readTitleBytes(DataInputStream in, int length) throws IOException {
+        if (length <= TITLE_CHUNK_SIZE) {
+            byte[] titleBytes = new byte[length];
+            in.readFully(titleBytes);
+            return titleBytes;
+        }
+        ByteArrayOutputStream titleBytes = new ByteArrayOutputStream(TITLE_CHUNK_SIZE);
+        byte[] chunk = new byte[TITLE_CHUNK_SIZE];
+        for (int left = length; left > 0; left -= chunk.length) {
+            int chunkLength = Math.min(left, chunk.length);
+            in.readFully(chunk, 0, chunkLength);
+            titleBytes.write(chunk, 0, chunkLength);
+        }
+        return titleBytes.toByteArray();
+    }
+
+    private static void readVersion1(TaskList tasks, DataInputStream dis, int count) throws IOException {
         Task currentTask;
         int titleLength;
         String title;              // title for future Task
-        boolean active, repeated;  // flags for future Task
+        boolean active;            // flag for future Task
         Date time, start, end;     // dates for future Task
         int repeat;
-        char[] bufferForTitle;
-        dis.readInt(); // read task count (ignored, as we use collections that can expand by themselves)
-        while (dis.available() > 0) {
+        StringBuilder bufferForTitle;
+        if (count < 0) {
+            throw new IOException("Invalid number of tasks: " + count);
+        }
+        for (int taskIndex = 0; taskIndex < count; taskIndex++) {
             titleLength = dis.readInt(); // title length
-            bufferForTitle = new char[titleLength]; // buffer for title
+            if (titleLength < 0) {
+                throw new IOException("Invalid title length: " + titleLength);
+            }
+            // title is read by chunks, so corrupted length can't make huge array be allocated before data is read
+            bufferForTitle = new StringBuilder(Math.min(titleLength, TITLE_CHUNK_SIZE));
 
             for (int i = 0; i < titleLength; i++) {
-                bufferForTitle[i] = dis.readChar(); // read title as
+                bufferForTitle.append(dis.readChar()); // read title as
             }
 
-            title = new String(bufferForTitle); // convert char array to string
+            title = bufferForTitle.toString(); // convert read chars to string
             active = (dis.readInt() != 0); // if task is active - 1 else 0
             repeat = dis.readInt();
-            if (repeat == 0) {
-                time = new Date(dis.readLong());
-                currentTask = new Task(title, time);
-                currentTask.setActive(active);
-                tasks.add(currentTask);
-            } else {
-                start = new Date(dis.readLong());
-                end = new Date(dis.readLong());
-                currentTask = new Task(title, start, end, repeat);
-                currentTask.setActive(active);
-                tasks.add(currentTask);
+            try {
+                if (repeat == 0) {
+                    time = new Date(dis.readLong());
+                    currentTask = new Task(title, time);
+                } else {
+                    start = new Date(dis.readLong());
+                    end = new Date(dis.readLong());
+                    currentTask = new Task(title, start, end, repeat);
+                }
+            } catch (IllegalArgumentException ex) {
+                throw new IOException("Invalid task " + taskIndex, ex);
             }
+            currentTask.setActive(active);
+            tasks.add(currentTask);
         }
     }
 
+    /**
+     * Method to open file in binary format of version 2 as read-only list of Tasks without reading it.
+     * Only header of file is read, Tasks are decoded when they are accessed.
+     *
+     * @param file File in binary format of version 2, written by {@link #writeBinary(TaskList, File)}
+     * @return read-only list of Tasks of the file, which should be closed after use
+     * @throws IOException when file can't be read or is not in binary format of version 2
+     * @see MappedBinaryTaskList
+     */
+    public static MappedBinaryTaskList mapBinary(File file) throws IOException {
+        return MappedBinaryTaskList.open(file.toPath());
+    }
+
     /**
      * Method to read tasks {@code tasks} from file
-     * with the help of method {@link #read(TaskList, Reader)}
+     * with the help of method {@link #read(TaskList, Reader)}.
+     * On multi-core machines files larger than one chunk in UTF-8 or single byte charsets are split into chunks,
+     * which are parsed in parallel by {@link ParallelTextReader}, with the same result.
      *
      * @param tasks collection of Task, we want to be filled from file
      * @param file  File, to fill the collection from
@@ -148,6 +339,11 @@ public class TaskIO {
      * @see Task
      */
     public static void readText(TaskList tasks, File file) throws IOException, ParseException {
+        Charset charset = Charset.defaultCharset();
+        if (ParallelTextReader.isParallel(charset, file.length())) {
+            ParallelTextReader.read(tasks, file.toPath(), charset);
+            return;
+        }
         try (Reader in = new BufferedReader(new FileReader(file))) {
             read(tasks, in);
         }
@@ -158,7 +354,10 @@ public class TaskIO {
      * "Task title" at [2014-06-28 18:00:13.000];
      * "Very ""Good"" title" at [2013-05-10 20:31:20.001] inactive;
      * "Other task" from [2010-06-01 08:00:00.000] to [2010-09-01 00:00:00.000] every [1 day].
-     * then - converting them into Task objects and adding them into collection
+     * then - converting them into Task objects and adding them into collection.
+     * Lines are read into one char buffer, which grows only for lines longer than it,
+     * and are parsed from it by {@link TaskTextParser} without regular expressions and date formats.
+     * Lines are separated by "\n", "\r" or "\r\n", as by {@link BufferedReader#readLine()}.
      *
      * @param tasks collection of Task, we want to be filled from Reader
      * @param in    Reader, to fill the collection from
@@ -168,27 +367,49 @@ public class TaskIO {
      * @see Task
      */
     public static void read(TaskList tasks, Reader in) throws IOException, ParseException, StringIndexOutOfBoundsException {
-        String currentLine;
-        Task currentTask;
-        String title;              // title for future Task
-        int lastQuoteIndex;
-        String repetition;
-        try (BufferedReader bufferedReader = new BufferedReader(in)) {
-            currentLine = bufferedReader.readLine();
-            while (currentLine != null) {
-                lastQuoteIndex = currentLine.lastIndexOf('"');
-                title = currentLine.substring(1, lastQuoteIndex);
-
-                repetition = currentLine.substring(lastQuoteIndex + 1, currentLine.indexOf('['));
-                if (repetition.equals(" at ")) {
-                    currentTask = parseAsNonRepeated(title, currentLine, lastQuoteIndex);
-                } else if (repetition.equals(" from ")) {
-                    currentTask = parseAsRepeated(title, currentLine, lastQuoteIndex);
-                } else {
-                    throw new ParseException("Unknown Task format in reader", lastQuoteIndex + 1);
+        TaskTextParser parser = new TaskTextParser();
+        try (Reader reader = in) {
+            char[] buffer = new char[TEXT_BUFFER_SIZE];
+            int lineStart = 0;
+            int position = 0;
+            int count = 0;
+            boolean skipLineFeed = false;
+            while (true) {
+                if (position == count) {
+                    if (lineStart > 0) {
+                        System.arraycopy(buffer, lineStart, buffer, 0, count - lineStart);
+                        position -= lineStart;
+                        count -= lineStart;
+                        lineStart = 0;
+                    } else if (count == buffer.length) {
+                        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    }
+                    int read = reader.read(buffer, count, buffer.length - count);
+                    if (read < 0) {
+                        break;
+                    }
+                    count += read;
+                    continue;
+                }
+                if (skipLineFeed) {
+                    skipLineFeed = false;
+                    if (buffer[position] == '\n') {
+                        lineStart = ++position;
+                        continue;
+                    }
+                }
+                char c = 0;
+                while (position < count && (c = buffer[position]) != '\n' && c != '\r') {
+                    position++;
                 }
-                tasks.add(currentTask);
-                currentLine = bufferedReader.readLine();
+                if (position < count) {
+                    tasks.add(parser.parse(buffer, lineStart, position));
+                    skipLineFeed = c == '\r';
+                    lineStart = ++position;
+                }
+            }
+            if (lineStart < count) {
+                tasks.add(parser.parse(buffer, lineStart, count));
             }
             if (tasks instanceof LinkedTaskList) {
                 ((LinkedTaskList) tasks).reverse();
@@ -196,79 +417,6 @@ public class TaskIO {
         }
     }
 
-    private static Task parseAsNonRepeated(String title, String currentLine, int lastQuoteIndex) throws ParseException {
-
-        int indexOfFirstSquareBracket = currentLine.indexOf("[", lastQuoteIndex);
-        String stringDate = currentLine.substring(indexOfFirstSquareBracket + 1, currentLine.lastIndexOf("]"));
-        Date actualDate = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").parse(stringDate);
-
-        Task taskToReturn = new Task(title, actualDate);
-        if (currentLine.lastIndexOf("]") + 1 == currentLine.lastIndexOf(";")
-                || currentLine.lastIndexOf("]") + 1 == currentLine.lastIndexOf(".")) {
-            taskToReturn.setActive(true);
-        } else {
-            taskToReturn.setActive(false);
-        }
-
-        return taskToReturn;
-    }
-
-    private static Task parseAsRepeated(String title, String currentLine, int lastQuoteIndex) throws ParseException {
-
-        int indexOfFirstSquareBracket = currentLine.indexOf("[", lastQuoteIndex);
-        int indexOfSecondSquareBracket = currentLine.indexOf("]", indexOfFirstSquareBracket);
-        String stringData = currentLine.substring(indexOfFirstSquareBracket + 1, indexOfSecondSquareBracket);
-        Date startDate = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").parse(stringData);
-
-        int indexOfThirdSquareBracket = currentLine.indexOf("[", indexOfSecondSquareBracket);
-        int indexOfFourthSquareBracket = currentLine.indexOf("]", indexOfThirdSquareBracket);
-        stringData = currentLine.substring(indexOfThirdSquareBracket + 1, indexOfFourthSquareBracket);
-        Date endDate = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").parse(stringData);
-
-        int indexOfFifthSquareBracket = currentLine.indexOf("[", indexOfFourthSquareBracket);
-        int indexOfSixthSquareBracket = currentLine.indexOf("]", indexOfFifthSquareBracket);
-        stringData = currentLine.substring(indexOfFifthSquareBracket + 1, indexOfSixthSquareBracket);
-        int repeatInterval = parseRepeatInterval(stringData);
-
-        Task taskToReturn = new Task(title, startDate, endDate, repeatInterval);
-        if (currentLine.lastIndexOf("]") + 1 == currentLine.lastIndexOf(";")
-                || currentLine.lastIndexOf("]") + 1 == currentLine.lastIndexOf(".")) {
-            taskToReturn.setActive(true);
-        } else {
-            taskToReturn.setActive(false);
-        }
-
-        return taskToReturn;
-    }
-
-    private static int parseRepeatInterval(String data) throws NumberFormatException {
-        int days = 0, hours = 0, minutes = 0, seconds = 0;
-        List<String> allMatches = new ArrayList<>();
-        Matcher m = Pattern.compile("\\d+\\s\\w").matcher(data);
-        while (m.find()) {
-            allMatches.add(m.group());
-        }
-
-        for (String s : allMatches) {
-            switch (s.substring(s.length() - 1)) {
-                case "d":
-                    days = Integer.parseInt(s.substring(0, s.indexOf(" ")));
-                    break;
-                case "h":
-                    hours = Integer.parseInt(s.substring(0, s.indexOf(" ")));
-                    break;
-                case "m":
-                    minutes = Integer.parseInt(s.substring(0, s.indexOf(" ")));
-                    break;
-                case "s":
-                    seconds = Integer.parseInt(s.substring(0, s.indexOf(" ")));
-                    break;
-            }
-        }
-
-        return ((days * 86400) + (hours * 3600) + (minutes * 60) + seconds);
-    }
-
     /**
      * Method to put tasks {@code tasks} to file using Writer class,
      * with the help of {@link #write(TaskList, Writer)} method
@@ -278,7 +426,7 @@ public class TaskIO {
      * @see Task
      */
     public static void writeText(TaskList tasks, File file) throws IOException {
-        try (Writer out = new BufferedWriter(new FileWriter(file))) {
+        try (Writer out = new FileWriter(file)) {
             write(tasks, out);
         }
     }
@@ -288,6 +436,7 @@ public class TaskIO {
      * "Task title" at [2014-06-28 18:00:13.000];
      * "Very ""Good"" title" at [2013-05-10 20:31:20.001] inactive;
      * "Other task" from [2010-06-01 08:00:00.000] to [2010-09-01 00:00:00.000] every [1 day].
+     * Lines are formatted by {@link TaskTextWriter} into one buffer, which is written into Writer by large blocks.
      *
      * @param tasks     collection of tasks, we want to serialize into Writer
      * @param outWriter Writer, to serialize the collection in
@@ -296,132 +445,11 @@ public class TaskIO {
      */
     public static void write(TaskList tasks, Writer outWriter) throws IOException {
         Iterator<Task> iter = tasks.iterator();
-        Task currentTask;
-        StringBuilder lineToWrite;
-        try (Writer out = new PrintWriter(outWriter)) {
+        try (TaskTextWriter out = new TaskTextWriter(outWriter)) {
             while (iter.hasNext()) {
-                currentTask = iter.next();
-                lineToWrite = new StringBuilder();
-                lineToWrite.append("\"");
-                lineToWrite.append(doubleTheQuotes(currentTask.getTitle()));
-                lineToWrite.append("\"");
-
-                if (!currentTask.isRepeated()) {
-                    lineToWrite.append(" at ");
-                    lineToWrite.append(getStringFromDate(currentTask.getTime()));
-                } else {
-                    lineToWrite.append(" from ");
-                    lineToWrite.append(getStringFromDate(currentTask.getStartTime()));
-                    lineToWrite.append(" to ");
-                    lineToWrite.append(getStringFromDate(currentTask.getEndTime()));
-                    lineToWrite.append(" every ");
-                    lineToWrite.append(getStringFromRepeatInterval(currentTask.getRepeatInterval()));
-                }
-
-                if (!currentTask.isActive()) {
-                    lineToWrite.append(" inactive");
-                    if (iter.hasNext()) {
-                        lineToWrite.append(";\n");
-                    } else {
-                        lineToWrite.append(".");
-                    }
-                    out.write(lineToWrite.toString());
-                    continue;
-                }
-
-                if (iter.hasNext()) {
-                    lineToWrite.append(";\n");
-                } else {
-                    lineToWrite.append(".");
-                }
-                out.write(new String(lineToWrite));
+                Task currentTask = iter.next();
+                out.write(currentTask, !iter.hasNext());
             }
         }
     }
-
-    private static String doubleTheQuotes(final String value) {
-        if (value.indexOf('"') == -1) {
-            return value;
-        }
-        StringBuilder builderString = new StringBuilder(value);
-        int indexOfQuote = builderString.indexOf("\"", 0);
-        while (indexOfQuote != -1) {
-            builderString.insert(indexOfQuote, "\"");
-            indexOfQuote = builderString.indexOf("\"", indexOfQuote + 2);
-        }
-        return new String(builderString);
-    }
-
-    private static String getStringFromDate(final Date date) {
-        StringBuilder builderString = new StringBuilder();
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
-        String dateString = sdf.format(date);
-        builderString.append("[");
-        builderString.append(dateString);
-        builderString.append("]");
-        return new String(builderString);
-    }
-
-    private static String getStringFromRepeatInterval(final int repeatInterval) {
-        StringBuilder builderString = new StringBuilder();
-        int days = repeatInterval / 86400;
-        int hours = (repeatInterval / 3600) % 24;
-        int minutes = (repeatInterval / 60) % 60;
-        int seconds = repeatInterval % 60;
-        builderString.append("[");
-
-
-        switch (days) {
-            case 0:
-                break;
-            case 1:
-                builderString.append(1);
-                builderString.append(" day ");
-                break;
-            default:
-                builderString.append(days);
-                builderString.append(" days ");
-        }
-
-        switch (hours) {
-            case 0:
-                break;
-            case 1:
-                builderString.append(1);
-                builderString.append(" hour ");
-                break;
-            default:
-                builderString.append(hours);
-                builderString.append(" hours ");
-        }
-
-        switch (minutes) {
-            case 0:
-                break;
-            case 1:
-                builderString.append(1);
-                builderString.append(" minute ");
-                break;
-            default:
-                builderString.append(minutes);
-                builderString.append(" minutes ");
-        }
-
-
-        switch (seconds) {
-            case 0:
-                break;
-            case 1:
-                builderString.append(1);
-                builderString.append(" second ");
-                break;
-            default:
-                builderString.append(seconds);
-                builderString.append(" seconds ");
-        }
-
-        builderString.insert(builderString.lastIndexOf(" "), "]");
-        String s = new String(builderString);
-        return s.trim();
-    }
 }
@@ -2,7 +2,10 @@ package com.kovalenko.lab1.model;
 
 import java.io.Serializable;
 import java.util.Date;
-import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * abstract class TaskList
@@ -63,29 +66,61 @@ public abstract class TaskList implements Iterable<Task>, Serializable {
     public abstract Task getTask(int index);
 
     /**
-     * Method for getting Task by given notification start and end times
+     * Creates a Spliterator over the Tasks in list, which knows size of the list.
+     * Lists should override it with Spliterator, that splits the list effectively.
+     *
+     * @return a Spliterator over the Tasks in list
+     */
+    @Override
+    public Spliterator<Task> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /**
+     * Method for getting sequential Stream of Tasks in list
+     *
+     * @return sequential Stream of Tasks in list
+     * @see #spliterator()
+     */
+    public Stream<Task> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Method for getting parallel Stream of Tasks in list,
+     * which is processed in common ForkJoinPool
+     *
+     * @return parallel Stream of Tasks in list
+     * @see #spliterator()
+     */
+    public Stream<Task> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Method to notify list, that times of {@code task} contained in it were edited,
+     * so lists, which are indexed by Task times, can update themselves.
+     * Does nothing by default.
+     *
+     * @param task  Task instance from list, which was edited
+     *
+     * @see IntervalTaskList
+     */
+    public void taskEdited(Task task) {
+    }
+
+    /**
+     * Method for getting Task by given notification start and end times.
+     * Tasks are filtered lazily while iterating through returned view, the list itself is not changed.
      *
      * @param from  time of notification start(excluded)
      * @param to     time of notification end(included)
      *
-     * @return list of suitable Tasks
+     * @return read-only view of suitable Tasks
      * @see Task
+     * @see IncomingTasks
      */
-    public Iterable<Task> incoming(Date from, Date to) {
-        Iterator<Task> iter = this.iterator();
-        while(iter.hasNext()) {
-            Task task = iter.next();
-            if ((task.isActive()
-                     && task.getTime().getTime() > from.getTime()
-                     && task.getEndTime().getTime() <= to.getTime())
-                    || (task.isActive()
-                            && task.isRepeated()
-                            && Task.compareDates(task.nextTimeAfter(from), from) > 0
-                            && Task.compareDates(task.nextTimeAfter(from), to) <= 0)) {
-                continue;
-            }
-            iter.remove();
-        }
-        return this;
+    public IncomingTasks incoming(Date from, Date to) {
+        return new IncomingTasks(this, from.getTime(), to.getTime());
     }
-}
\ No newline at end of file
+}
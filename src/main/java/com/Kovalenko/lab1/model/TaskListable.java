@@ -2,10 +2,10 @@ package com.kovalenko.lab1.model;
 
 
 /**
- * Marker interface for EmptyTaskList and FilledTaskList
+ * Marker interface for EmptyTaskList and LinkedTaskList
  *
  * @see EmptyTaskList
- * @see FilledTaskList
+ * @see LinkedTaskList
  */
 interface TaskListable {
 }
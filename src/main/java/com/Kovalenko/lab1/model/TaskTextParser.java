@@ -0,0 +1,310 @@
+package com.kovalenko.lab1.model;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+/**
+ * Parser of lines of text format of Tasks, used by {@link TaskIO#read(TaskList, java.io.Reader)}:
+ * "Task title" at [2014-06-28 18:00:13.000];
+ * "Very ""Good"" title" at [2013-05-10 20:31:20.001] inactive;
+ * "Other task" from [2010-06-01 08:00:00.000] to [2010-09-01 00:00:00.000] every [1 day].
+ * <p>
+ * Line is parsed from range of characters of the buffer, it was read in, so no String is created for it:
+ * it is scanned once from the end and once from the last quote, without regular expressions and substrings.
+ * Dates in "yyyy-MM-dd HH:mm:ss.SSS" format are parsed from characters: start of the day in default time zone
+ * is counted from the date once and cached, so for most of dates only the time of the day is added to it.
+ * Tasks are created from milliseconds without Date objects, title and times are still checked, as constructors of Task do it.
+ * Dates in other forms, days, when time zone offset changes, and dates of non Gregorian calendar of default locale
+ * are parsed by {@link SimpleDateFormat}, so parsed Tasks are the same as ones parsed by it.
+ * <p>
+ * Parser is not thread safe, each thread should use it's own parser.
+ *
+ * @author Anton Kovalenko
+ * @version 1.0
+ * @see TaskIO
+ * @since 10-17-2026
+ */
+class TaskTextParser {
+
+    private static final String DATE_FORMAT = "yyyy-MM-dd HH:mm:ss.SSS";
+    private static final int DATE_LENGTH = DATE_FORMAT.length();
+    private static final long MILLIS_IN_DAY = 86_400_000L;
+    private static final int DAYS_CACHE_SIZE = 1024;
+    private static final long IRREGULAR_DAY = Long.MIN_VALUE;
+    private static final int MIN_GREGORIAN_YEAR = 1600;
+
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat(DATE_FORMAT);
+    private final TimeZone timeZone = dateFormat.getTimeZone();
+    private final Calendar calendar = (Calendar) dateFormat.getCalendar().clone();
+    private final boolean isGregorian = calendar.getClass() == GregorianCalendar.class;
+    private final int[] cachedDays = new int[DAYS_CACHE_SIZE];
+    private final long[] cachedDayStarts = new long[DAYS_CACHE_SIZE];
+
+    /**
+     * Parses one line of text format into Task
+     *
+     * @param chars characters, which contain the line
+     * @param begin index of the first character of the line
+     * @param end   index after the last character of the line, line separator is not included
+     * @return parsed Task
+     * @throws ParseException                  when line is not in text format of Tasks
+     * @throws StringIndexOutOfBoundsException when line has no title in quotes
+     * @throws NumberFormatException           when repeat interval is too big
+     */
+    Task parse(char[] chars, int begin, int end) throws ParseException, StringIndexOutOfBoundsException {
+        int lastQuoteIndex = -1;
+        int lastClosingBracket = -1;
+        int lastSemicolon = -1;
+        int lastDot = -1;
+        for (int i = end - 1; i >= begin && lastQuoteIndex < 0; i--) {
+            char c = chars[i];
+            if (c == '"') {
+                lastQuoteIndex = i;
+            } else if (c == ']' && lastClosingBracket < 0) {
+                lastClosingBracket = i;
+            } else if (c == ';' && lastSemicolon < 0) {
+                lastSemicolon = i;
+            } else if (c == '.' && lastDot < 0) {
+                lastDot = i;
+            }
+        }
+        if (lastQuoteIndex <= begin) {
+            throw new StringIndexOutOfBoundsException("No title in line: " + new String(chars, begin, end - begin));
+        }
+        String title = new String(chars, begin + 1, lastQuoteIndex - begin - 1);
+
+        int firstBracket = indexOf(chars, '[', lastQuoteIndex, end);
+        if (firstBracket < 0) {
+            throw new StringIndexOutOfBoundsException("No dates in line: " + new String(chars, begin, end - begin));
+        }
+        boolean active = lastClosingBracket + 1 == lastSemicolon || lastClosingBracket + 1 == lastDot;
+        if (startsWith(chars, lastQuoteIndex + 1, end, " at ") && firstBracket == lastQuoteIndex + 5) {
+            long time = parseDate(chars, firstBracket + 1, lastClosingBracket, begin, end);
+            return createTask(title, active, false, time, time, 0);
+        } else if (startsWith(chars, lastQuoteIndex + 1, end, " from ") && firstBracket == lastQuoteIndex + 7) {
+            int secondBracket = requireIndexOf(chars, ']', firstBracket, begin, end);
+            long start = parseDate(chars, firstBracket + 1, secondBracket, begin, end);
+            int thirdBracket = requireIndexOf(chars, '[', secondBracket, begin, end);
+            int fourthBracket = requireIndexOf(chars, ']', thirdBracket, begin, end);
+            long finish = parseDate(chars, thirdBracket + 1, fourthBracket, begin, end);
+            int fifthBracket = requireIndexOf(chars, '[', fourthBracket, begin, end);
+            int sixthBracket = requireIndexOf(chars, ']', fifthBracket, begin, end);
+            int repeatInterval = parseRepeatInterval(chars, fifthBracket + 1, sixthBracket);
+            return createTask(title, active, true, start, finish, repeatInterval);
+        } else {
+            throw new ParseException("Unknown Task format in reader", lastQuoteIndex + 1 - begin);
+        }
+    }
+
+    /**
+     * Creates Task from milliseconds without Dates, title and times are checked in the same order
+     * and with the same exceptions, as constructors of Task do it
+     */
+    private static Task createTask(String title, boolean active, boolean repeated,
+                                   long start, long end, int repeatInterval) throws IllegalArgumentException {
+        Task task = Task.of(null, active, repeated, start, end, repeatInterval);
+        task.setTitle(title);
+        if (!repeated && start < 0) {
+            throw new IllegalArgumentException("Invalid argument, time should be more or equal than zero");
+        }
+        if (repeated && !(end > start && repeatInterval > 0 && start >= 0)) {
+            throw new IllegalArgumentException("Invalid arguments, repeatInterval time should be more than zero, end time should be greater then start");
+        }
+        return task;
+    }
+
+    private static int indexOf(char[] chars, char c, int fromIndex, int end) {
+        for (int i = fromIndex; i < end; i++) {
+            if (chars[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int requireIndexOf(char[] chars, char c, int fromIndex, int lineBegin, int lineEnd) {
+        int index = indexOf(chars, c, fromIndex, lineEnd);
+        if (index < 0) {
+            throw new StringIndexOutOfBoundsException("No '" + c + "' in line: "
+                    + new String(chars, lineBegin, lineEnd - lineBegin));
+        }
+        return index;
+    }
+
+    private static boolean startsWith(char[] chars, int index, int end, String prefix) {
+        int length = prefix.length();
+        if (end - index < length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (chars[index + i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses date in "yyyy-MM-dd HH:mm:ss.SSS" format from {@code begin} to {@code end} index of line,
+     * which is from {@code lineBegin} to {@code lineEnd} index
+     */
+    private long parseDate(char[] chars, int begin, int end, int lineBegin, int lineEnd) throws ParseException {
+        if (end < begin) {
+            throw new StringIndexOutOfBoundsException("No date in line: " + new String(chars, lineBegin, lineEnd - lineBegin));
+        }
+        if (isGregorian && end - begin == DATE_LENGTH
+                && chars[begin + 4] == '-' && chars[begin + 7] == '-' && chars[begin + 10] == ' '
+                && chars[begin + 13] == ':' && chars[begin + 16] == ':' && chars[begin + 19] == '.') {
+            int year = digits(chars, begin, 4);
+            int month = digits(chars, begin + 5, 2);
+            int day = digits(chars, begin + 8, 2);
+            int hours = digits(chars, begin + 11, 2);
+            int minutes = digits(chars, begin + 14, 2);
+            int seconds = digits(chars, begin + 17, 2);
+            int millis = digits(chars, begin + 20, 3);
+            if (year >= 0 && month >= 1 && month <= 12 && day >= 1 && day <= 31
+                    && hours >= 0 && hours < 24 && minutes >= 0 && minutes < 60 && seconds >= 0 && seconds < 60
+                    && millis >= 0) {
+                long dayStart = dayStart(year, month, day);
+                if (dayStart != IRREGULAR_DAY) {
+                    return dayStart + ((hours * 60L + minutes) * 60 + seconds) * 1000 + millis;
+                }
+                calendar.clear();
+                calendar.set(year, month - 1, day, hours, minutes, seconds);
+                calendar.set(Calendar.MILLISECOND, millis);
+                return calendar.getTimeInMillis();
+            }
+        }
+        return dateFormat.parse(new String(chars, begin, end - begin)).getTime();
+    }
+
+    /**
+     * Parses {@code count} decimal digits
+     *
+     * @return parsed number, or -1 if there are not only digits
+     */
+    private static int digits(char[] chars, int begin, int count) {
+        int value = 0;
+        for (int i = begin; i < begin + count; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Gets start of the day in default time zone from cache, computing it, if it is not cached:
+     * local midnight is counted from the date for years of Gregorian calendar, and the offset of time zone
+     * at it is subtracted, days of other years are computed by calendar
+     *
+     * @return start of the day in milliseconds, or {@link #IRREGULAR_DAY}, if time zone offset
+     * changes during the day or right after it, so time of the day can't be just added to it's start
+     */
+    private long dayStart(int year, int month, int day) {
+        int key = (year * 100 + month) * 100 + day;
+        int slot = (key ^ (key >>> 10)) & (DAYS_CACHE_SIZE - 1);
+        if (cachedDays[slot] == key) {
+            return cachedDayStarts[slot];
+        }
+        long dayStart;
+        if (year >= MIN_GREGORIAN_YEAR) {
+            long localMidnight = epochDay(year, month, day) * MILLIS_IN_DAY;
+            dayStart = localMidnight - timeZone.getOffset(localMidnight - timeZone.getRawOffset());
+        } else {
+            calendar.clear();
+            calendar.set(year, month - 1, day);
+            dayStart = calendar.getTimeInMillis();
+        }
+        int offset = timeZone.getOffset(dayStart);
+        if (Math.floorMod(dayStart + offset, MILLIS_IN_DAY) != 0
+                || offset != timeZone.getOffset(dayStart + MILLIS_IN_DAY / 2)
+                || offset != timeZone.getOffset(dayStart + MILLIS_IN_DAY)) {
+            dayStart = IRREGULAR_DAY;
+        }
+        cachedDays[slot] = key;
+        cachedDayStarts[slot] = dayStart;
+        return dayStart;
+    }
+
+    /**
+     * Counts days from 1970-01-01 to the date of proleptic Gregorian calendar,
+     * day of month can be greater than length of the month, as lenient calendar allows it
+     */
+    private static long epochDay(int year, int month, int day) {
+        int shiftedYear = month <= 2 ? year - 1 : year;
+        int era = shiftedYear / 400;
+        int yearOfEra = shiftedYear - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468;
+    }
+
+    /**
+     * Parses repeat interval like "1 day 2 hours 30 minutes 1 second" from {@code begin} to {@code end} index of line.
+     * Number followed by one whitespace and a letter is a count of units, named by the letter:
+     * d - days, h - hours, m - minutes, s - seconds, other units are ignored.
+     */
+    private static int parseRepeatInterval(char[] chars, int begin, int end) throws NumberFormatException {
+        int days = 0, hours = 0, minutes = 0, seconds = 0;
+        int i = begin;
+        while (i < end) {
+            if (!isDigit(chars[i])) {
+                i++;
+                continue;
+            }
+            int numberStart = i;
+            while (i < end && isDigit(chars[i])) {
+                i++;
+            }
+            if (i + 1 >= end || !isWhitespace(chars[i]) || !isWordCharacter(chars[i + 1])) {
+                continue;
+            }
+            int value = parseInt(chars, numberStart, i);
+            switch (chars[i + 1]) {
+                case 'd':
+                    days = value;
+                    break;
+                case 'h':
+                    hours = value;
+                    break;
+                case 'm':
+                    minutes = value;
+                    break;
+                case 's':
+                    seconds = value;
+                    break;
+            }
+            i += 2;
+        }
+        return ((days * 86400) + (hours * 3600) + (minutes * 60) + seconds);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isWordCharacter(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+    }
+
+    private static int parseInt(char[] chars, int begin, int end) throws NumberFormatException {
+        long value = 0;
+        for (int i = begin; i < end; i++) {
+            value = value * 10 + (chars[i] - '0');
+            if (value > Integer.MAX_VALUE) {
+                throw new NumberFormatException("For input string: \"" + new String(chars, begin, end - begin) + "\"");
+            }
+        }
+        return (int) value;
+    }
+}
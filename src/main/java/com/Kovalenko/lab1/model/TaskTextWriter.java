@@ -0,0 +1,278 @@
+package com.kovalenko.lab1.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.text.DecimalFormat;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+/**
+ * Writer of Tasks in text format, used by {@link TaskIO#write(TaskList, Writer)}:
+ * "Task title" at [2014-06-28 18:00:13.000];
+ * "Very ""Good"" title" at [2013-05-10 20:31:20.001] inactive;
+ * "Other task" from [2010-06-01 08:00:00.000] to [2010-09-01 00:00:00.000] every [1 day].
+ * <p>
+ * Lines are formatted straight into one reusable char buffer, which is written into Writer, when it is full,
+ * so no Strings are created for Tasks. Dates in "yyyy-MM-dd HH:mm:ss.SSS" format are computed from
+ * milliseconds and offset of default time zone, formatted date without milliseconds is cached for the last second.
+ * Dates of years before 1600 and after 9999, and dates of default locale with non Gregorian calendar
+ * or non ASCII digits are formatted by {@link SimpleDateFormat}, so output is the same as formatted by it.
+ * <p>
+ * Writer is not thread safe.
+ *
+ * @author Anton Kovalenko
+ * @version 1.0
+ * @see TaskIO
+ * @see TaskTextParser
+ * @since 10-17-2026
+ */
+class TaskTextWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_LINE_TAIL = 256;
+    private static final int PREFIX_LENGTH = 19;
+    private static final long MILLIS_IN_DAY = 86_400_000L;
+    private static final int MIN_FAST_YEAR = 1600;
+    private static final int MAX_FAST_YEAR = 9999;
+
+    private final Writer out;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+    private final TimeZone timeZone = dateFormat.getTimeZone();
+    private final boolean isFast = dateFormat.getCalendar().getClass() == GregorianCalendar.class
+            && dateFormat.getNumberFormat() instanceof DecimalFormat
+            && ((DecimalFormat) dateFormat.getNumberFormat()).getDecimalFormatSymbols().getZeroDigit() == '0';
+    private final char[] cachedPrefix = new char[PREFIX_LENGTH];
+    private long cachedSecond = Long.MIN_VALUE;
+
+    /**
+     * Creates writer of Tasks into Writer, which is closed, when this writer is closed
+     *
+     * @param out Writer, to write Tasks in
+     */
+    TaskTextWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes one Task as a line of text format, which is ended by ";\n", or by "." for the last Task.
+     * Task without title or time, or repeated Task with zero repeat interval can't be written,
+     * in this case nothing is written for it.
+     *
+     * @param task Task to write
+     * @param last true, if it is the last Task to write
+     * @throws IOException                     when there was exception during writing to the Writer
+     * @throws NullPointerException            when title or time of the Task is not set
+     * @throws StringIndexOutOfBoundsException when repeated Task has zero repeat interval
+     */
+    void write(Task task, boolean last) throws IOException {
+        String title = task.getTitle();
+        boolean repeated = task.isRepeated();
+        long start = task.startMillis();
+        long end = task.endMillis();
+        if (title == null || start == Task.NO_TIME || end == Task.NO_TIME) {
+            throw new NullPointerException("Title or time of Task is not set");
+        }
+        if (repeated && task.getRepeatInterval() == 0) {
+            throw new StringIndexOutOfBoundsException("Repeat interval of Task is zero");
+        }
+        append('"');
+        appendTitle(title);
+        // title may fill the buffer up, the rest of line with closing quote is not longer than MAX_LINE_TAIL
+        if (position + MAX_LINE_TAIL > BUFFER_SIZE) {
+            flush();
+        }
+        append('"');
+        if (!repeated) {
+            append(" at ");
+            appendDate(start);
+        } else {
+            append(" from ");
+            appendDate(start);
+            append(" to ");
+            appendDate(end);
+            append(" every ");
+            appendRepeatInterval(task.getRepeatInterval());
+        }
+        if (!task.isActive()) {
+            append(" inactive");
+        }
+        if (last) {
+            append('.');
+        } else {
+            append(";\n");
+        }
+    }
+
+    /**
+     * Writes buffered lines into Writer
+     *
+     * @throws IOException when there was exception during writing to the Writer
+     */
+    void flush() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    /**
+     * Writes buffered lines into Writer and closes it
+     *
+     * @throws IOException when there was exception during writing to or closing of the Writer
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void append(char c) {
+        buffer[position++] = c;
+    }
+
+    private void append(String s) {
+        int length = s.length();
+        s.getChars(0, length, buffer, position);
+        position += length;
+    }
+
+    /**
+     * Appends title, doubling the quotes in it, title can be longer than buffer
+     */
+    private void appendTitle(String title) throws IOException {
+        int length = title.length();
+        for (int i = 0; i < length; i++) {
+            if (position + 2 > BUFFER_SIZE) {
+                flush();
+            }
+            char c = title.charAt(i);
+            if (c == '"') {
+                buffer[position++] = '"';
+            }
+            buffer[position++] = c;
+        }
+    }
+
+    /**
+     * Appends date in "[yyyy-MM-dd HH:mm:ss.SSS]" format
+     */
+    private void appendDate(long millis) {
+        long second = Math.floorDiv(millis, 1000);
+        if (second != cachedSecond) {
+            if (!isFast || !formatPrefix(millis)) {
+                String formatted = dateFormat.format(new Date(millis));
+                append('[');
+                append(formatted);
+                append(']');
+                return;
+            }
+            cachedSecond = second;
+        }
+        append('[');
+        System.arraycopy(cachedPrefix, 0, buffer, position, PREFIX_LENGTH);
+        position += PREFIX_LENGTH;
+        append('.');
+        appendDigits((int) Math.floorMod(millis, 1000L), 3);
+        append(']');
+    }
+
+    /**
+     * Formats date and time of the day in default time zone without milliseconds into {@link #cachedPrefix}
+     *
+     * @return false, if year of the date can't be formatted without calendar
+     */
+    private boolean formatPrefix(long millis) {
+        long local = millis + timeZone.getOffset(millis);
+        long days = Math.floorDiv(local, MILLIS_IN_DAY);
+        int secondOfDay = (int) (Math.floorMod(local, MILLIS_IN_DAY) / 1000);
+        long shiftedDays = days + 719_468;
+        long era = Math.floorDiv(shiftedDays, 146_097);
+        int dayOfEra = (int) (shiftedDays - era * 146_097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < MIN_FAST_YEAR || year > MAX_FAST_YEAR) {
+            return false;
+        }
+        putDigits(cachedPrefix, 0, (int) year, 4);
+        cachedPrefix[4] = '-';
+        putDigits(cachedPrefix, 5, month, 2);
+        cachedPrefix[7] = '-';
+        putDigits(cachedPrefix, 8, day, 2);
+        cachedPrefix[10] = ' ';
+        putDigits(cachedPrefix, 11, secondOfDay / 3600, 2);
+        cachedPrefix[13] = ':';
+        putDigits(cachedPrefix, 14, secondOfDay / 60 % 60, 2);
+        cachedPrefix[16] = ':';
+        putDigits(cachedPrefix, 17, secondOfDay % 60, 2);
+        return true;
+    }
+
+    private void appendDigits(int value, int count) {
+        putDigits(buffer, position, value, count);
+        position += count;
+    }
+
+    private void appendNumber(int value) {
+        if (value < 0) {
+            append('-');
+        }
+        long absolute = Math.abs((long) value);
+        int count = 1;
+        for (long bound = 10; bound <= absolute; bound *= 10) {
+            count++;
+        }
+        for (int i = position + count - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + absolute % 10);
+            absolute /= 10;
+        }
+        position += count;
+    }
+
+    private static void putDigits(char[] chars, int offset, int value, int count) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    /**
+     * Appends repeat interval like "[1 day 2 hours 30 minutes 1 second]", parts equal to zero are skipped
+     */
+    private void appendRepeatInterval(int repeatInterval) {
+        append('[');
+        boolean first = true;
+        first = appendIntervalPart(repeatInterval / 86400, " day", first);
+        first = appendIntervalPart((repeatInterval / 3600) % 24, " hour", first);
+        first = appendIntervalPart((repeatInterval / 60) % 60, " minute", first);
+        appendIntervalPart(repeatInterval % 60, " second", first);
+        append(']');
+    }
+
+    private boolean appendIntervalPart(int value, String unit, boolean first) {
+        if (value == 0) {
+            return first;
+        }
+        if (!first) {
+            append(' ');
+        }
+        appendNumber(value);
+        append(unit);
+        if (value != 1) {
+            append('s');
+        }
+        return false;
+    }
+}
@@ -1,6 +1,8 @@
 package com.kovalenko.lab1.model;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Class with static functions to work with collections of Tasks
@@ -13,78 +15,230 @@ public class Tasks {
     }
 
     /**
-     * Method to return Collection of active Tasks, contained between {@code from} and {@code to} dates
+     * Method to return Collection of active Tasks, contained between {@code from} and {@code to} dates.
+     * Tasks are filtered lazily while iterating through returned view, {@code tasks} are not changed.
      *
      * @param tasks TaskList, should implement Iterable interface
      * @param from  Date, from which to search for active Tasks
      * @param to    Date, to which to search for active Tasks
-     * @return Collection of incoming Tasks between specified dates
+     * @return read-only view of incoming Tasks between specified dates
      * @see Task
      * @see Iterable
      * @see TaskList
+     * @see IncomingTasks
      */
-    public static Iterable<Task> incoming(Iterable<Task> tasks, Date from, Date to) {
-        Iterator<Task> iter = tasks.iterator();
-        while (iter.hasNext()) {
-            Task task = iter.next();
-            if ((task.isActive()
-                     && task.getTime().getTime() > from.getTime()
-                     && task.getEndTime().getTime() <= to.getTime())
-                    || (task.isActive()
-                            && task.isRepeated()
-                            && Task.compareDates(task.nextTimeAfter(from), from) > 0
-                            && Task.compareDates(task.nextTimeAfter(from), to) <= 0)) {
-                continue;
-            }
-            iter.remove();
+    public static IncomingTasks incoming(Iterable<Task> tasks, Date from, Date to) {
+        if (tasks instanceof TaskList) {
+            return ((TaskList) tasks).incoming(from, to);
+        }
+        return new IncomingTasks(tasks, from.getTime(), to.getTime());
+    }
+
+    /**
+     * Method to check if Task is going to be notified between {@code from} and {@code to} times
+     *
+     * @param task Task to check
+     * @param from time in milliseconds, from which to search for notification(excluded)
+     * @param to   time in milliseconds, to which to search for notification(included)
+     * @return true, if the Task is active and will be notified in specified period,
+     * false otherwise
+     */
+    static boolean isIncoming(Task task, long from, long to) {
+        if (!task.isActive()) {
+            return false;
+        }
+        if (task.timeMillis() > from && task.endMillis() <= to) {
+            return true;
+        }
+        if (task.isRepeated()) {
+            long nextTime = task.nextTimeAfterMillis(from);
+            return nextTime != Task.NO_TIME && nextTime > from && nextTime <= to;
+        }
+        return false;
+    }
+
+    /**
+     * Method to check, if active Task with given state will be notified between {@code from} and {@code to} times,
+     * the same way as {@link #isIncoming(Task, long, long)}, for lists, which keep state of Tasks by themselves
+     *
+     * @param repeated       repeated state of Task
+     * @param start          start time of Task in milliseconds
+     * @param end            end time field of Task in milliseconds
+     * @param repeatInterval repeat interval of Task in seconds
+     * @param from           time in milliseconds, from which to search for notification(excluded)
+     * @param to             time in milliseconds, to which to search for notification(included)
+     * @return true, if the Task will be notified in specified period,
+     * false otherwise
+     * @see Task#endField()
+     */
+    static boolean isIncoming(boolean repeated, long start, long end, int repeatInterval, long from, long to) {
+        long endTime = repeated ? end : start;
+        if (start > to || endTime <= from) {
+            // no notifications can be in the window
+            return false;
+        }
+        if (start > from && endTime <= to) {
+            return true;
+        }
+        if (repeated) {
+            long nextTime = Task.nextTimeAfterMillis(true, true, start, end, repeatInterval, from);
+            return nextTime != Task.NO_TIME && nextTime > from && nextTime <= to;
         }
-        return tasks;
+        return false;
     }
 
     /**
      * Method to return SortedMap of all tasks, contained between {@code from} and {@code to} dates
-     * All the tasks, which have same notification date will be contained in {@code calendarToReturn}
-     * as Set<Task> {@code newSet} by Date key {@code timeToAdd}
+     * All the tasks, which have same notification date will be contained in returned calendar
+     * as Set<Task> by that Date key.
+     * <p>
+     * Tasks are split into chunks, which are expanded into partial calendars in common ForkJoinPool,
+     * then partial calendars are merged into one.
      *
      * @param tasks TaskList, should impement Iterable interface
      * @param from  Date, from which to search for active Tasks
      * @param to    Date, to which to search for active Tasks
      * @return calendar for tasks, which are scheduled between {@code from} and {@code to} dates
+     * @see CalendarTask
      */
     public static SortedMap<Date, Set<Task>> calendar(Iterable<Task> tasks, Date from, Date to) {
-        SortedMap<Date, Set<Task>> calendarToReturn = new TreeMap<>();
-        Task currentTask;
-        Date timeToAdd, currentFromTime = from;
-        Set<Task> setOfTasks = new HashSet<>();
-
-        Iterator<Task> iter = tasks.iterator();
-        while (iter.hasNext()) {
-            currentTask = iter.next();
-            if (currentTask.isActive() && currentTask.getEndTime().after(from)) {
-                while (Task.compareDates(currentTask.nextTimeAfter(currentFromTime), to) <= 0) {
-                    timeToAdd = currentTask.nextTimeAfter(currentFromTime);
-                    if (timeToAdd == null) {
-                        break;
-                    }
-                    if (calendarToReturn.get(timeToAdd) != null) {
-                        Set<Task> newSet = new HashSet<>(calendarToReturn.get(timeToAdd));
-                        newSet.add(currentTask);
-                        calendarToReturn.put(timeToAdd, newSet);
-                    } else {
-                        setOfTasks.add(currentTask);
-                        calendarToReturn.put(timeToAdd, setOfTasks);
-                    }
-                    if (!currentTask.isRepeated()) {
-                        break;
+        return ForkJoinPool.commonPool().invoke(new CalendarTask(tasks.spliterator(), from.getTime(), to.getTime()));
+    }
+
+    /**
+     * Method to return calendar of all tasks, contained between {@code from} and {@code to} dates,
+     * as Iterator over it's entries in ascending order of dates.
+     * All the tasks, which have same notification date are returned as one entry with Set<Task> by that Date key.
+     * <p>
+     * Calendar is computed lazily, by keeping next notification time of each task in a priority queue,
+     * so only one entry of calendar is kept in memory at once.
+     *
+     * @param tasks TaskList, should impement Iterable interface
+     * @param from  Date, from which to search for active Tasks
+     * @param to    Date, to which to search for active Tasks
+     * @return Iterator over calendar entries for tasks, which are scheduled between {@code from} and {@code to} dates
+     * @see #calendar(Iterable, Date, Date)
+     */
+    public static Iterator<Map.Entry<Date, Set<Task>>> calendarIterator(Iterable<Task> tasks, Date from, Date to) {
+        return new CalendarIter(tasks, from.getTime(), to.getTime());
+    }
+
+    /**
+     * Iterator over calendar entries, which merges occurrences of all the tasks using priority queue,
+     * with next occurrence of each task in it.
+     */
+    private static class CalendarIter implements Iterator<Map.Entry<Date, Set<Task>>> {
+
+        private final PriorityQueue<Occurrences> queue = new PriorityQueue<>();
+
+        CalendarIter(Iterable<Task> tasks, long from, long to) {
+            for (Task task : tasks) {
+                if (task.isActive() && task.endMillis() > from) {
+                    Occurrences occurrences = new Occurrences(task, task.occurrences(from, to));
+                    if (occurrences.advance()) {
+                        queue.add(occurrences);
                     }
-                    currentFromTime = new Date(timeToAdd.getTime());
                 }
-                currentFromTime = from;
-                setOfTasks = new HashSet<>();
             }
+        }
+
+        public boolean hasNext() {
+            return !queue.isEmpty();
+        }
 
+        public Map.Entry<Date, Set<Task>> next() {
+            if (queue.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            long time = queue.peek().time;
+            Set<Task> setOfTasks = new HashSet<>();
+            while (!queue.isEmpty() && queue.peek().time == time) {
+                Occurrences occurrences = queue.poll();
+                setOfTasks.add(occurrences.task);
+                if (occurrences.advance()) {
+                    queue.add(occurrences);
+                }
+            }
+            return new AbstractMap.SimpleImmutableEntry<>(new Date(time), setOfTasks);
+        }
+    }
+
+    private static class Occurrences implements Comparable<Occurrences> {
+        final Task task;
+        final PrimitiveIterator.OfLong times;
+        long time;
+
+        Occurrences(Task task, PrimitiveIterator.OfLong times) {
+            this.task = task;
+            this.times = times;
+        }
+
+        boolean advance() {
+            if (!times.hasNext()) {
+                return false;
+            }
+            time = times.nextLong();
+            return true;
+        }
+
+        @Override
+        public int compareTo(Occurrences o) {
+            return Long.compare(this.time, o.time);
         }
-        return calendarToReturn;
     }
-}
 
+    /**
+     * Task for ForkJoinPool, which builds calendar for Tasks of given Spliterator.
+     * Spliterator is split, until it's size becomes less than {@link #CHUNK_SIZE},
+     * calendars for both parts are built separately and the smaller one is merged into the bigger one.
+     */
+    private static class CalendarTask extends RecursiveTask<TreeMap<Date, Set<Task>>> {
+
+        private static final int CHUNK_SIZE = 1 << 10;
+        private final Spliterator<Task> tasks;
+        private final long from;
+        private final long to;
+
+        CalendarTask(Spliterator<Task> tasks, long from, long to) {
+            this.tasks = tasks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TreeMap<Date, Set<Task>> compute() {
+            Spliterator<Task> prefix;
+            if (tasks.estimateSize() > CHUNK_SIZE && (prefix = tasks.trySplit()) != null) {
+                CalendarTask prefixTask = new CalendarTask(prefix, from, to);
+                prefixTask.fork();
+                TreeMap<Date, Set<Task>> calendar = compute();
+                return merge(prefixTask.join(), calendar);
+            }
+            TreeMap<Date, Set<Task>> calendar = new TreeMap<>();
+            tasks.forEachRemaining(task -> {
+                if (task.isActive() && task.endMillis() > from) {
+                    PrimitiveIterator.OfLong occurrences = task.occurrences(from, to);
+                    while (occurrences.hasNext()) {
+                        calendar.computeIfAbsent(new Date(occurrences.nextLong()), k -> new HashSet<>()).add(task);
+                    }
+                }
+            });
+            return calendar;
+        }
+
+        /**
+         * Merges smaller calendar into bigger one, sets of tasks are owned by calendars, so they are not copied
+         */
+        private static TreeMap<Date, Set<Task>> merge(TreeMap<Date, Set<Task>> first, TreeMap<Date, Set<Task>> second) {
+            TreeMap<Date, Set<Task>> bigger = first.size() >= second.size() ? first : second;
+            TreeMap<Date, Set<Task>> smaller = bigger == first ? second : first;
+            for (Map.Entry<Date, Set<Task>> entry : smaller.entrySet()) {
+                Set<Task> setOfTasks = bigger.putIfAbsent(entry.getKey(), entry.getValue());
+                if (setOfTasks != null) {
+                    setOfTasks.addAll(entry.getValue());
+                }
+            }
+            return bigger;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.kovalenko.lab1.controller;
+
+import com.kovalenko.lab1.model.Task;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark of notifications schedule engines on simulated clock.
+ * Active repeated tasks with intervals of 1 - 60 seconds are scheduled, then the clock jumps from one
+ * {@link NotificationsSchedule#nextTime()} to the next one, due notifications are taken and rescheduled
+ * at their next time, as {@link NotificationsManager} does it, until the simulated period ends.
+ * <p>
+ * It is not a unit test, so it is not run by build, run it by hand:
+ * java -cp target/classes:target/test-classes com.kovalenko.lab1.controller.ScheduleBenchmark [tasks] [minutes]
+ *
+ * @author Anton Kovalenko
+ * @version 1.0
+ * @see QueueSchedule
+ * @see TimingWheelSchedule
+ * @since 10-17-2026
+ */
+public class ScheduleBenchmark {
+
+    private static final long START_TIME = 1_500_000_000_000L;
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) {
+        int tasksCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int minutes = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        List<Task> tasks = createTasks(tasksCount, minutes);
+        for (int round = 0; round < ROUNDS; round++) {
+            run("queue", new QueueSchedule(), tasks, minutes);
+            run("wheel", new TimingWheelSchedule(START_TIME), tasks, minutes);
+        }
+    }
+
+    private static List<Task> createTasks(int count, int minutes) {
+        Random random = new Random(1);
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task task = new Task("Task " + i, new Date(START_TIME),
+                    new Date(START_TIME + minutes * 120_000L), 1 + random.nextInt(60));
+            task.setActive(true);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private static void run(String name, NotificationsSchedule schedule, List<Task> tasks, int minutes) {
+        long begin = System.nanoTime();
+        Random random = new Random(2);
+        for (Task task : tasks) {
+            schedule.add(new ScheduledTask(task, START_TIME + random.nextInt(task.getRepeatInterval() * 1000)));
+        }
+        long endTime = START_TIME + minutes * 60_000L;
+        long fires = 0;
+        List<ScheduledTask> dueTasks = new ArrayList<>();
+        long time = schedule.nextTime();
+        while (time != Task.NO_TIME && time <= endTime) {
+            dueTasks.clear();
+            schedule.pollDue(time, dueTasks);
+            for (ScheduledTask scheduledTask : dueTasks) {
+                fires++;
+                long next = scheduledTask.time + scheduledTask.task.getRepeatInterval() * 1000L;
+                schedule.add(new ScheduledTask(scheduledTask.task, next));
+            }
+            time = schedule.nextTime();
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        System.out.printf("%s: %d fires in %.2f s, %.2fM fires/s%n", name, fires, seconds, fires / seconds / 1e6);
+    }
+}
